@@ -0,0 +1,41 @@
+package com.barbosa.desafio_tech.config;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.service.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogHealthIndicator implements HealthIndicator {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Override
+    public Health health() {
+        Health.Builder health = catalogSnapshotService.isReady() ? Health.up() : Health.outOfService();
+        for (CatalogFeed feed : CatalogFeed.values()) {
+            if (!catalogSnapshotService.isEnabled(feed)) {
+                continue;
+            }
+            Optional<CatalogSnapshot> snapshot = catalogSnapshotService.latest(feed);
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("loaded", snapshot.isPresent());
+            snapshot.ifPresent(loaded -> {
+                details.put("version", loaded.version());
+                details.put("items", loaded.size());
+                details.put("ageSeconds", catalogSnapshotService.age(loaded).toSeconds());
+                details.put("stale", catalogSnapshotService.isStale(loaded));
+            });
+            health.withDetail(feed.key(), details);
+        }
+        return health.build();
+    }
+}
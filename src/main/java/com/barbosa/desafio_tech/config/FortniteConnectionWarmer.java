@@ -0,0 +1,50 @@
+package com.barbosa.desafio_tech.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+public class FortniteConnectionWarmer {
+
+    private static final String PROBE_PATH = "/cosmetics/new";
+
+    private final WebClient fortniteWebClient;
+    private final int connections;
+    private final Duration timeout;
+
+    public FortniteConnectionWarmer(WebClient fortniteWebClient,
+                                    @Value("${fortnite.http.prewarm-connections:2}") int connections,
+                                    @Value("${fortnite.http.connect-timeout:PT3S}") Duration timeout) {
+        this.fortniteWebClient = fortniteWebClient;
+        this.connections = connections;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void prewarm() {
+        if (connections <= 0) {
+            return;
+        }
+        Flux.range(0, connections)
+                .flatMap(i -> fortniteWebClient.head()
+                        .uri(PROBE_PATH)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .timeout(timeout.multipliedBy(2))
+                        .onErrorResume(ex -> {
+                            log.debug("Falha ao pré-aquecer conexão com a API do Fortnite", ex);
+                            return Mono.empty();
+                        }))
+                .count()
+                .subscribe(opened -> log.info("{} conexões com a API do Fortnite pré-aquecidas", opened));
+    }
+}
@@ -1,14 +1,20 @@
 package com.barbosa.desafio_tech.config;
 
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig implements WebMvcConfigurer {
@@ -22,6 +28,36 @@ public class WebClientConfig implements WebMvcConfigurer {
     @Value("${fortnite.api.key:}")
     private String fortniteApiKey;
 
+    @Value("${fortnite.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${fortnite.http.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${fortnite.http.pending-acquire-timeout:PT5S}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${fortnite.http.max-idle-time:PT60S}")
+    private Duration maxIdleTime;
+
+    @Value("${fortnite.http.max-life-time:PT10M}")
+    private Duration maxLifeTime;
+
+    @Value("${fortnite.http.evict-in-background:PT30S}")
+    private Duration evictInBackground;
+
+    @Value("${fortnite.http.connect-timeout:PT3S}")
+    private Duration connectTimeout;
+
+    @Value("${fortnite.http.response-timeout:PT10S}")
+    private Duration responseTimeout;
+
+    @Value("${fortnite.http.compress:true}")
+    private boolean compress;
+
+    @Value("${fortnite.http.warmup:true}")
+    private boolean warmup;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -32,16 +68,37 @@ public class WebClientConfig implements WebMvcConfigurer {
                 .maxAge(3600);
     }
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider fortniteConnectionProvider() {
+        return ConnectionProvider.builder("fortnite")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient fortniteWebClient() {
-        int maxInMemorySize = 16 * 1024 * 1024; // 16 MB
+    public WebClient fortniteWebClient(ConnectionProvider fortniteConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(fortniteConnectionProvider)
+                .compress(compress)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(responseTimeout)
+                .metrics(true, uri -> uri.replaceAll("/cosmetics/br/[^/?]+", "/cosmetics/br/{id}"));
+        if (warmup) {
+            httpClient.warmup().block();
+        }
+
         WebClient.Builder builder = WebClient.builder()
                 .baseUrl(fortniteApiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .exchangeStrategies(org.springframework.web.reactive.function.client.ExchangeStrategies.builder()
-                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
-                        .build());
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
 
         if (fortniteApiKey != null && !fortniteApiKey.isEmpty()) {
             builder.defaultHeader("x-api-key", fortniteApiKey);
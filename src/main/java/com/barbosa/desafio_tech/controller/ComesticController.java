@@ -1,8 +1,15 @@
 package com.barbosa.desafio_tech.controller;
 
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.dto.ComesticCursorPageDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFacetsDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import com.barbosa.desafio_tech.domain.request.CosmeticBatchRequest;
+import com.barbosa.desafio_tech.domain.service.CatalogResponseCacheService;
+import com.barbosa.desafio_tech.domain.service.CatalogSnapshotService;
 import com.barbosa.desafio_tech.domain.service.ComesticService;
+import com.barbosa.desafio_tech.domain.service.ShopStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,15 +17,29 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
 
 @RestController
 @RequestMapping("/api/cosmetics")
@@ -26,43 +47,199 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Cosméticos", description = "API para consulta de cosméticos do Fortnite")
 public class ComesticController {
 
+    private static final String CATALOG_AGE_HEADER = "X-Catalog-Age";
+    private static final String CATALOG_STALE_HEADER = "X-Catalog-Stale";
+
     private final ComesticService comesticService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CatalogResponseCacheService catalogResponseCacheService;
+    private final ShopStreamService shopStreamService;
 
     @Operation(summary = "Listar todos os cosméticos", description = "Retorna uma lista paginada de cosméticos com filtros opcionais")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cosméticos retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Lista de cosméticos retornada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Conteúdo não modificado desde o ETag informado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping
-    public ResponseEntity<Page<ComesticDTO>> allCosmetics(
+    public ResponseEntity<byte[]> allCosmetics(
             @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
-            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO) {
-        Page<ComesticDTO> cosmetics = comesticService.listAll(pageable, filterDTO);
-        return ResponseEntity.ok(cosmetics);
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO,
+            WebRequest request) {
+        String query = query(pageable, filterDTO);
+        if (notModified(request, CatalogFeed.ALL, query)) {
+            return null;
+        }
+        return json(CatalogFeed.ALL, query, catalogResponseCacheService.get(CatalogFeed.ALL, query, () -> comesticService.listAll(pageable, filterDTO)));
+    }
+
+    @Operation(summary = "Contar cosméticos por filtro", description = "Retorna a quantidade de cosméticos para cada valor de tipo, raridade, novidade e promoção; cada faceta considera os demais filtros informados, mas não o próprio")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contagens retornadas com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ComesticFacetsDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Conteúdo não modificado desde o ETag informado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<byte[]> cosmeticFacets(
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO,
+            WebRequest request) {
+        String query = query("facets", filterDTO);
+        if (notModified(request, CatalogFeed.ALL, query)) {
+            return null;
+        }
+        return json(CatalogFeed.ALL, query, catalogResponseCacheService.get(CatalogFeed.ALL, query, () -> comesticService.facets(filterDTO)));
     }
 
     @Operation(summary = "Listar cosméticos novos", description = "Retorna uma lista paginada de cosméticos recém-lançados")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cosméticos novos retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Lista de cosméticos novos retornada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Conteúdo não modificado desde o ETag informado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/new")
-    public ResponseEntity<Page<ComesticDTO>> newCosmetics(
-            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable) {
-        Page<ComesticDTO> cosmetics = comesticService.listNew(pageable);
-        return ResponseEntity.ok(cosmetics);
+    public ResponseEntity<byte[]> newCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
+            WebRequest request) {
+        String query = query(pageable);
+        if (notModified(request, CatalogFeed.NEW, query)) {
+            return null;
+        }
+        return json(CatalogFeed.NEW, query, catalogResponseCacheService.get(CatalogFeed.NEW, query, () -> comesticService.listNew(pageable)));
     }
 
     @Operation(summary = "Listar cosméticos da loja", description = "Retorna uma lista paginada de cosméticos disponíveis na loja do Fortnite")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cosméticos da loja retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Lista de cosméticos da loja retornada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Conteúdo não modificado desde o ETag informado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/shop")
-    public ResponseEntity<Page<ComesticDTO>> shopCosmetics(
-            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable) {
-        Page<ComesticDTO> cosmetics = comesticService.listShop(pageable);
-        return ResponseEntity.ok(cosmetics);
+    public ResponseEntity<byte[]> shopCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO,
+            WebRequest request) {
+        String query = query(pageable, filterDTO);
+        if (notModified(request, CatalogFeed.SHOP, query)) {
+            return null;
+        }
+        return json(CatalogFeed.SHOP, query, catalogResponseCacheService.get(CatalogFeed.SHOP, query, () -> comesticService.listShop(pageable, filterDTO)));
+    }
+
+    @Operation(summary = "Acompanhar rotações da loja", description = "Abre um stream SSE que envia, a cada nova rotação da loja, as entradas adicionadas, removidas e com preço alterado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream de eventos aberto",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "503", description = "Limite de assinantes do stream atingido")
+    })
+    @GetMapping(path = "/shop/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> shopStream() {
+        return shopStreamService.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+
+    @Operation(summary = "Buscar cosmético por id", description = "Retorna um cosmético pelo id do Fortnite, usando o catálogo local antes de consultar a API")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cosmético encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ComesticDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Cosmético não encontrado"),
+            @ApiResponse(responseCode = "503", description = "API do Fortnite indisponível no momento")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ComesticDTO> cosmeticById(
+            @Parameter(description = "Id do cosmético no Fortnite") @PathVariable String id) {
+        return ResponseEntity.ok(comesticService.getById(id));
+    }
+
+    @Operation(summary = "Buscar cosméticos em lote", description = "Retorna os cosméticos encontrados para a lista de ids informada, na ordem da requisição; ids não encontrados são omitidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cosméticos encontrados retornados com sucesso"),
+            @ApiResponse(responseCode = "422", description = "Lista de ids vazia ou acima do limite")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<ComesticDTO>> cosmeticsByIds(
+            @Valid @RequestBody CosmeticBatchRequest request) {
+        return ResponseEntity.ok(comesticService.getByIds(request.getIds()));
+    }
+
+    @Operation(summary = "Rolar todos os cosméticos por cursor", description = "Retorna uma página de cosméticos e um cursor opaco para a próxima página, estável entre atualizações do catálogo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cosméticos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "410", description = "Cursor expirado, reinicie a paginação"),
+            @ApiResponse(responseCode = "503", description = "Catálogo indisponível no momento")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<ComesticCursorPageDTO> scrollCosmetics(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Parâmetros de paginação (size, sort)") Pageable pageable,
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO) {
+        return ResponseEntity.ok(comesticService.scroll(CatalogFeed.ALL, cursor, pageable, filterDTO));
+    }
+
+    @Operation(summary = "Rolar cosméticos novos por cursor", description = "Retorna uma página de cosméticos novos e um cursor opaco para a próxima página")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cosméticos novos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "410", description = "Cursor expirado, reinicie a paginação"),
+            @ApiResponse(responseCode = "503", description = "Catálogo indisponível no momento")
+    })
+    @GetMapping("/new/scroll")
+    public ResponseEntity<ComesticCursorPageDTO> scrollNewCosmetics(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Parâmetros de paginação (size, sort)") Pageable pageable) {
+        return ResponseEntity.ok(comesticService.scroll(CatalogFeed.NEW, cursor, pageable, null));
+    }
+
+    @Operation(summary = "Rolar cosméticos da loja por cursor", description = "Retorna uma página de cosméticos da loja e um cursor opaco para a próxima página")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cosméticos da loja retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "410", description = "Cursor expirado, reinicie a paginação"),
+            @ApiResponse(responseCode = "503", description = "Catálogo indisponível no momento")
+    })
+    @GetMapping("/shop/scroll")
+    public ResponseEntity<ComesticCursorPageDTO> scrollShopCosmetics(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Parâmetros de paginação (size, sort)") Pageable pageable,
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO) {
+        return ResponseEntity.ok(comesticService.scroll(CatalogFeed.SHOP, cursor, pageable, filterDTO));
+    }
+
+    private String query(Object... parameters) {
+        return Arrays.deepToString(parameters);
+    }
+
+    private ResponseEntity<byte[]> json(CatalogFeed feed, String query, CatalogResponseCacheService.CachedResponse cached) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (cached.version().isPresent()) {
+            response.eTag(etag(feed, cached.version().getAsLong(), query));
+        }
+        catalogSnapshotService.latest(feed).ifPresent(snapshot -> response
+                .header(CATALOG_AGE_HEADER, String.valueOf(catalogSnapshotService.age(snapshot).toSeconds()))
+                .header(CATALOG_STALE_HEADER, String.valueOf(catalogSnapshotService.isStale(snapshot))));
+        return response.body(cached.body());
+    }
+
+    private boolean notModified(WebRequest request, CatalogFeed feed, String query) {
+        OptionalLong version = catalogSnapshotService.currentVersion(feed);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (version.isEmpty() || ifNoneMatch == null) {
+            return false;
+        }
+        String etag = etag(feed, version.getAsLong(), query);
+        return (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*")) && request.checkNotModified(etag);
+    }
+
+    private String etag(CatalogFeed feed, long version, String query) {
+        String fingerprint = DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8));
+        return "\"" + feed.key() + "-" + version + "-" + fingerprint + "\"";
     }
 
 }
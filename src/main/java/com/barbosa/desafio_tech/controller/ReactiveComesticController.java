@@ -0,0 +1,91 @@
+package com.barbosa.desafio_tech.controller;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import com.barbosa.desafio_tech.domain.request.CosmeticBatchRequest;
+import com.barbosa.desafio_tech.domain.service.ComesticService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reactive/cosmetics")
+@RequiredArgsConstructor
+@Tag(name = "Cosméticos (reativo)", description = "Variantes não bloqueantes da API de cosméticos, que liberam a thread do servidor durante as chamadas à API do Fortnite")
+public class ReactiveComesticController {
+
+    private final ComesticService comesticService;
+
+    @Operation(summary = "Listar todos os cosméticos", description = "Retorna uma lista paginada de cosméticos com filtros opcionais")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de cosméticos retornada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping
+    public Mono<Page<ComesticDTO>> allCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO) {
+        return comesticService.listAllAsync(pageable, filterDTO);
+    }
+
+    @Operation(summary = "Listar cosméticos novos", description = "Retorna uma lista paginada de cosméticos recém-lançados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de cosméticos novos retornada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/new")
+    public Mono<Page<ComesticDTO>> newCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable) {
+        return comesticService.listNewAsync(pageable);
+    }
+
+    @Operation(summary = "Listar cosméticos da loja", description = "Retorna uma lista paginada de cosméticos disponíveis na loja do Fortnite")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de cosméticos da loja retornada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/shop")
+    public Mono<Page<ComesticDTO>> shopCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO) {
+        return comesticService.listShopAsync(pageable, filterDTO);
+    }
+
+    @Operation(summary = "Buscar cosmético por id", description = "Retorna um cosmético pelo id do Fortnite, usando o catálogo local antes de consultar a API")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cosmético encontrado"),
+            @ApiResponse(responseCode = "404", description = "Cosmético não encontrado"),
+            @ApiResponse(responseCode = "503", description = "API do Fortnite indisponível no momento")
+    })
+    @GetMapping("/{id}")
+    public Mono<ComesticDTO> cosmeticById(
+            @Parameter(description = "Id do cosmético no Fortnite") @PathVariable String id) {
+        return comesticService.getByIdAsync(id);
+    }
+
+    @Operation(summary = "Buscar cosméticos em lote", description = "Retorna os cosméticos encontrados para a lista de ids informada, na ordem da requisição; ids não encontrados são omitidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cosméticos encontrados retornados com sucesso"),
+            @ApiResponse(responseCode = "422", description = "Lista de ids vazia ou acima do limite")
+    })
+    @PostMapping("/batch")
+    public Mono<List<ComesticDTO>> cosmeticsByIds(
+            @Valid @RequestBody CosmeticBatchRequest request) {
+        return comesticService.getByIdsAsync(request.getIds());
+    }
+}
@@ -1,6 +1,10 @@
 package com.barbosa.desafio_tech.controller.controllerException;
 
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import com.barbosa.desafio_tech.domain.service.serviceException.ComesticNotFoundException;
+import com.barbosa.desafio_tech.domain.service.serviceException.CursorExpiredException;
 import com.barbosa.desafio_tech.domain.service.serviceException.DatabaseException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCursorException;
 import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
@@ -22,6 +26,13 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(ComesticNotFoundException.class)
+    public ResponseEntity<CustomError> comesticNotFound(ComesticNotFoundException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(DatabaseException.class)
     public ResponseEntity<CustomError> dataBase(DatabaseException e, HttpServletRequest request) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
@@ -29,6 +40,27 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<CustomError> invalidCursor(InvalidCursorException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<CustomError> cursorExpired(CursorExpiredException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.GONE;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(CatalogUnavailableException.class)
+    public ResponseEntity<CustomError> catalogUnavailable(CatalogUnavailableException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomError> methodArgumentNotValidException(MethodArgumentNotValidException e, HttpServletRequest request ) {
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
@@ -0,0 +1,140 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CatalogColumns {
+
+    private static final short NULL_CODE = -1;
+    private static final int NULL_PRICE = Integer.MIN_VALUE;
+    private static final byte NEW_KNOWN = 1;
+    private static final byte NEW_VALUE = 1 << 1;
+    private static final byte SALE_KNOWN = 1 << 2;
+    private static final byte SALE_VALUE = 1 << 3;
+
+    private final String[] ids;
+    private final String[] names;
+    private final String[] imageUrls;
+    private final int[] prices;
+    private final short[] types;
+    private final short[] rarities;
+    private final byte[] flags;
+    private final String[] dictionary;
+
+    private CatalogColumns(List<ComesticDTO> items) {
+        int size = items.size();
+        this.ids = new String[size];
+        this.names = new String[size];
+        this.imageUrls = new String[size];
+        this.prices = new int[size];
+        this.types = new short[size];
+        this.rarities = new short[size];
+        this.flags = new byte[size];
+
+        List<String> values = new ArrayList<>();
+        Map<String, Short> codes = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            ComesticDTO item = items.get(row);
+            ids[row] = item.getId();
+            names[row] = item.getName();
+            imageUrls[row] = item.getImageUrl();
+            prices[row] = item.getPrice() != null ? item.getPrice() : NULL_PRICE;
+            types[row] = encode(codes, values, item.getType());
+            rarities[row] = encode(codes, values, item.getRarity());
+            flags[row] = flags(item.getIsNew(), item.getIsOnSale());
+        }
+        this.dictionary = values.toArray(String[]::new);
+    }
+
+    public static CatalogColumns of(List<ComesticDTO> items) {
+        return new CatalogColumns(items);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int row) {
+        return ids[row];
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public String type(int row) {
+        return decode(types[row]);
+    }
+
+    public String rarity(int row) {
+        return decode(rarities[row]);
+    }
+
+    public Boolean isNew(int row) {
+        return flag(flags[row], NEW_KNOWN, NEW_VALUE);
+    }
+
+    public Boolean isOnSale(int row) {
+        return flag(flags[row], SALE_KNOWN, SALE_VALUE);
+    }
+
+    public ComesticDTO row(int row) {
+        return ComesticDTO.builder()
+                .id(ids[row])
+                .name(names[row])
+                .type(type(row))
+                .rarity(rarity(row))
+                .imageUrl(imageUrls[row])
+                .price(prices[row] != NULL_PRICE ? prices[row] : null)
+                .isNew(isNew(row))
+                .isOnSale(isOnSale(row))
+                .build();
+    }
+
+    public List<ComesticDTO> rows() {
+        List<ComesticDTO> items = new ArrayList<>(ids.length);
+        for (int row = 0; row < ids.length; row++) {
+            items.add(row(row));
+        }
+        return items;
+    }
+
+    private String decode(short code) {
+        return code != NULL_CODE ? dictionary[code] : null;
+    }
+
+    private static short encode(Map<String, Short> codes, List<String> values, String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Short code = codes.get(value);
+        if (code == null) {
+            if (values.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Atributos distintos demais para o catálogo: " + values.size());
+            }
+            code = (short) values.size();
+            codes.put(value, code);
+            values.add(value.intern());
+        }
+        return code;
+    }
+
+    private static byte flags(Boolean isNew, Boolean isOnSale) {
+        byte result = 0;
+        if (isNew != null) {
+            result |= NEW_KNOWN | (isNew ? NEW_VALUE : 0);
+        }
+        if (isOnSale != null) {
+            result |= SALE_KNOWN | (isOnSale ? SALE_VALUE : 0);
+        }
+        return result;
+    }
+
+    private static Boolean flag(byte flags, byte known, byte value) {
+        return (flags & known) == 0 ? null : (flags & value) != 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+
+public record CatalogCursor(CatalogFeed feed, long version, CatalogSortKey sort, boolean descending,
+                            ComesticFilterDTO filter, int position) {
+}
@@ -0,0 +1,24 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import java.util.Locale;
+
+public enum CatalogFeed {
+
+    ALL("/cosmetics"),
+    NEW("/cosmetics/new"),
+    SHOP("/shop");
+
+    private final String path;
+
+    CatalogFeed(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
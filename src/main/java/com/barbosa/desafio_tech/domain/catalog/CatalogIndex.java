@@ -0,0 +1,362 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class CatalogIndex {
+
+    private static final Comparator<ComesticDTO> BY_NAME =
+            Comparator.comparing(ComesticDTO::getName, Comparator.nullsLast(String::compareToIgnoreCase));
+    private static final int RANK_SORT_RATIO = 16;
+
+    private final CatalogColumns columns;
+    private final int[][] orders;
+    private final int[][] ranks;
+    private final String[] lowerNames;
+    private final TrigramIndex nameTrigrams;
+    private final Map<String, Integer> rowsById;
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final Map<String, BitSet> byRarity = new HashMap<>();
+    private final Map<Boolean, BitSet> byNew = new HashMap<>();
+    private final Map<Boolean, BitSet> byOnSale = new HashMap<>();
+
+    private CatalogIndex(List<ComesticDTO> items) {
+        Integer[] byName = new Integer[items.size()];
+        for (int i = 0; i < byName.length; i++) {
+            byName[i] = i;
+        }
+        Arrays.sort(byName, (a, b) -> BY_NAME.compare(items.get(a), items.get(b)));
+
+        ComesticDTO[] rows = new ComesticDTO[byName.length];
+        int[] source = new int[byName.length];
+        for (int row = 0; row < byName.length; row++) {
+            rows[row] = items.get(byName[row]);
+            source[byName[row]] = row;
+        }
+
+        int slots = CatalogSortKey.values().length * 2;
+        this.orders = new int[slots][];
+        this.ranks = new int[slots][];
+        for (CatalogSortKey key : CatalogSortKey.values()) {
+            int[] ascending = key == CatalogSortKey.SOURCE ? source : sortedRows(rows, key.comparator(false));
+            int[] descending = key == CatalogSortKey.SOURCE ? reversed(source) : sortedRows(rows, key.comparator(true));
+            orders[slot(key, false)] = ascending;
+            orders[slot(key, true)] = descending;
+            ranks[slot(key, false)] = inverse(ascending);
+            ranks[slot(key, true)] = inverse(descending);
+        }
+
+        this.lowerNames = new String[rows.length];
+        this.rowsById = new HashMap<>(rows.length * 4 / 3 + 1);
+        for (int row = 0; row < rows.length; row++) {
+            ComesticDTO item = rows[row];
+            if (item.getId() != null) {
+                rowsById.putIfAbsent(item.getId(), row);
+            }
+            lowerNames[row] = item.getName() != null ? item.getName().toLowerCase(Locale.ROOT) : null;
+            mark(byType, item.getType(), row);
+            mark(byRarity, item.getRarity(), row);
+            mark(byNew, item.getIsNew(), row);
+            mark(byOnSale, item.getIsOnSale(), row);
+        }
+        this.nameTrigrams = TrigramIndex.build(lowerNames);
+        this.columns = CatalogColumns.of(Arrays.asList(rows));
+    }
+
+    public static CatalogIndex build(List<ComesticDTO> items) {
+        return new CatalogIndex(items);
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public ComesticDTO byId(String id) {
+        Integer row = rowsById.get(id);
+        return row != null ? columns.row(row) : null;
+    }
+
+    public List<ComesticDTO> items() {
+        int[] source = orders[slot(CatalogSortKey.SOURCE, false)];
+        List<ComesticDTO> items = new ArrayList<>(source.length);
+        for (int row : source) {
+            items.add(columns.row(row));
+        }
+        return items;
+    }
+
+    public BitSet matching(ComesticFilterDTO filter) {
+        if (filter == null) {
+            return null;
+        }
+
+        BitSet result = null;
+        result = intersect(result, byType, filter.getType());
+        result = intersect(result, byRarity, filter.getRarity());
+        result = intersect(result, byNew, filter.getIsNew());
+        result = intersect(result, byOnSale, filter.getIsOnSale());
+        if (filter.getName() != null) {
+            result = matchName(result, filter.getName().toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    public Facets facets(ComesticFilterDTO filter) {
+        ComesticFilterDTO f = filter != null ? filter : new ComesticFilterDTO();
+        BitSet names = f.getName() != null ? matchName(null, f.getName().toLowerCase(Locale.ROOT)) : null;
+        return new Facets(
+                count(narrow(names, f.getType(), f.getRarity(), f.getIsNew(), f.getIsOnSale())),
+                counts(byType, narrow(names, null, f.getRarity(), f.getIsNew(), f.getIsOnSale())),
+                counts(byRarity, narrow(names, f.getType(), null, f.getIsNew(), f.getIsOnSale())),
+                counts(byNew, narrow(names, f.getType(), f.getRarity(), null, f.getIsOnSale())),
+                counts(byOnSale, narrow(names, f.getType(), f.getRarity(), f.getIsNew(), null)));
+    }
+
+    public static Facets facets(List<ComesticDTO> items, ComesticFilterDTO filter) {
+        ComesticFilterDTO f = filter != null ? filter : new ComesticFilterDTO();
+        String token = f.getName() != null ? f.getName().toLowerCase(Locale.ROOT) : null;
+        int total = 0;
+        Map<String, Integer> type = new HashMap<>();
+        Map<String, Integer> rarity = new HashMap<>();
+        Map<Boolean, Integer> isNew = new HashMap<>();
+        Map<Boolean, Integer> isOnSale = new HashMap<>();
+        for (ComesticDTO item : items) {
+            if (token != null && (item.getName() == null || !item.getName().toLowerCase(Locale.ROOT).contains(token))) {
+                continue;
+            }
+            boolean typeMatches = f.getType() == null || f.getType().equals(item.getType());
+            boolean rarityMatches = f.getRarity() == null || f.getRarity().equals(item.getRarity());
+            boolean newMatches = f.getIsNew() == null || f.getIsNew().equals(item.getIsNew());
+            boolean saleMatches = f.getIsOnSale() == null || f.getIsOnSale().equals(item.getIsOnSale());
+            if (rarityMatches && newMatches && saleMatches) {
+                tally(type, item.getType());
+            }
+            if (typeMatches && newMatches && saleMatches) {
+                tally(rarity, item.getRarity());
+            }
+            if (typeMatches && rarityMatches && saleMatches) {
+                tally(isNew, item.getIsNew());
+            }
+            if (typeMatches && rarityMatches && newMatches) {
+                tally(isOnSale, item.getIsOnSale());
+                if (saleMatches) {
+                    total++;
+                }
+            }
+        }
+        return new Facets(total, byCount(type), byCount(rarity), byCount(isNew), byCount(isOnSale));
+    }
+
+    public int count(BitSet matches) {
+        return matches == null ? columns.size() : matches.cardinality();
+    }
+
+    public List<ComesticDTO> page(BitSet matches, CatalogSortKey key, boolean descending, long offset, int limit) {
+        int[] order = orders[slot(key, descending)];
+        List<ComesticDTO> content = new ArrayList<>(limit);
+        if (matches == null) {
+            int to = (int) Math.min(offset + limit, order.length);
+            for (int i = (int) Math.min(offset, order.length); i < to; i++) {
+                content.add(columns.row(order[i]));
+            }
+            return content;
+        }
+
+        int total = matches.cardinality();
+        if (offset >= total) {
+            return content;
+        }
+
+        if (total <= columns.size() / RANK_SORT_RATIO) {
+            int[] rank = ranks[slot(key, descending)];
+            int[] positions = new int[total];
+            int n = 0;
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                positions[n++] = rank[row];
+            }
+            Arrays.sort(positions);
+            int to = (int) Math.min(offset + limit, total);
+            for (int i = (int) offset; i < to; i++) {
+                content.add(columns.row(order[positions[i]]));
+            }
+            return content;
+        }
+
+        long skipped = 0;
+        for (int i = 0; i < order.length && content.size() < limit; i++) {
+            int row = order[i];
+            if (matches.get(row)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    content.add(columns.row(row));
+                }
+            }
+        }
+        return content;
+    }
+
+    public Scroll scroll(BitSet matches, CatalogSortKey key, boolean descending, int afterPosition, int limit) {
+        int[] order = orders[slot(key, descending)];
+        List<ComesticDTO> content = new ArrayList<>(limit);
+        int last = afterPosition;
+        int position = Math.max(afterPosition + 1, 0);
+        for (; position < order.length && content.size() < limit; position++) {
+            int row = order[position];
+            if (matches == null || matches.get(row)) {
+                content.add(columns.row(row));
+                last = position;
+            }
+        }
+
+        boolean hasMore = false;
+        for (; position < order.length && !hasMore; position++) {
+            hasMore = matches == null || matches.get(order[position]);
+        }
+        return new Scroll(content, last, hasMore);
+    }
+
+    private BitSet narrow(BitSet names, String type, String rarity, Boolean isNew, Boolean isOnSale) {
+        BitSet result = names != null ? (BitSet) names.clone() : null;
+        result = intersect(result, byType, type);
+        result = intersect(result, byRarity, rarity);
+        result = intersect(result, byNew, isNew);
+        result = intersect(result, byOnSale, isOnSale);
+        return result;
+    }
+
+    private BitSet matchName(BitSet candidates, String token) {
+        BitSet result = new BitSet(lowerNames.length);
+        int[] byTrigram = nameTrigrams.candidates(token);
+        if (byTrigram != null) {
+            for (int row : byTrigram) {
+                if ((candidates == null || candidates.get(row)) && lowerNames[row].contains(token)) {
+                    result.set(row);
+                }
+            }
+            return result;
+        }
+        if (candidates == null) {
+            for (int row = 0; row < lowerNames.length; row++) {
+                if (lowerNames[row] != null && lowerNames[row].contains(token)) {
+                    result.set(row);
+                }
+            }
+            return result;
+        }
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            if (lowerNames[row] != null && lowerNames[row].contains(token)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    private static int[] sortedRows(ComesticDTO[] rows, Comparator<ComesticDTO> comparator) {
+        Integer[] boxed = new Integer[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            boxed[row] = row;
+        }
+        Arrays.sort(boxed, (a, b) -> {
+            int result = comparator.compare(rows[a], rows[b]);
+            return result != 0 ? result : Integer.compare(a, b);
+        });
+        int[] order = new int[rows.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    private static int slot(CatalogSortKey key, boolean descending) {
+        return key.ordinal() * 2 + (descending ? 1 : 0);
+    }
+
+    private static int[] reversed(int[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[order.length - 1 - i];
+        }
+        return result;
+    }
+
+    private static int[] inverse(int[] order) {
+        int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+
+    private static <K> BitSet intersect(BitSet current, Map<K, BitSet> index, K value) {
+        if (value == null) {
+            return current;
+        }
+        BitSet bits = index.get(value);
+        if (bits == null) {
+            return new BitSet();
+        }
+        if (current == null) {
+            return (BitSet) bits.clone();
+        }
+        current.and(bits);
+        return current;
+    }
+
+    private static <K> Map<K, Integer> counts(Map<K, BitSet> index, BitSet matches) {
+        Map<K, Integer> counted = new HashMap<>();
+        for (Map.Entry<K, BitSet> entry : index.entrySet()) {
+            int count;
+            if (matches == null) {
+                count = entry.getValue().cardinality();
+            } else {
+                BitSet bits = (BitSet) entry.getValue().clone();
+                bits.and(matches);
+                count = bits.cardinality();
+            }
+            if (count > 0) {
+                counted.put(entry.getKey(), count);
+            }
+        }
+        return byCount(counted);
+    }
+
+    private static <K> void tally(Map<K, Integer> counts, K value) {
+        if (value != null) {
+            counts.merge(value, 1, Integer::sum);
+        }
+    }
+
+    private static <K> Map<K, Integer> byCount(Map<K, Integer> counts) {
+        List<Map.Entry<K, Integer>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.<K, Integer>comparingByValue().reversed());
+        Map<K, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<K, Integer> entry : sorted) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private static <K> void mark(Map<K, BitSet> index, K value, int row) {
+        if (value != null) {
+            index.computeIfAbsent(value, key -> new BitSet()).set(row);
+        }
+    }
+
+    public record Facets(int total, Map<String, Integer> type, Map<String, Integer> rarity,
+                         Map<Boolean, Integer> isNew, Map<Boolean, Integer> isOnSale) {
+    }
+
+    public record Scroll(List<ComesticDTO> content, int lastPosition, boolean hasMore) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CatalogPayload(List<ComesticDTO> items, String hash, boolean unchanged, Instant loadedAt) {
+
+    public CatalogPayload(List<ComesticDTO> items, String hash) {
+        this(items, hash, false, null);
+    }
+
+    public CatalogPayload(List<ComesticDTO> items, String hash, Instant loadedAt) {
+        this(items, hash, false, loadedAt);
+    }
+
+    public static CatalogPayload unchanged(String hash) {
+        return new CatalogPayload(List.of(), hash, true, null);
+    }
+}
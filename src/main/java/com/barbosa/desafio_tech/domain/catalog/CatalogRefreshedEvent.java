@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+public record CatalogRefreshedEvent(CatalogSnapshot previous, CatalogSnapshot current) {
+
+    public CatalogFeed feed() {
+        return current.feed();
+    }
+}
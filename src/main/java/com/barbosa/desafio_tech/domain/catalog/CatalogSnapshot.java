@@ -0,0 +1,26 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public record CatalogSnapshot(CatalogFeed feed, long version, String hash, Instant loadedAt, CatalogIndex index) {
+
+    public static CatalogSnapshot of(CatalogFeed feed, long version, CatalogPayload payload, Instant loadedAt) {
+        return new CatalogSnapshot(feed, version, payload.hash(), loadedAt, CatalogIndex.build(payload.items()));
+    }
+
+    public List<ComesticDTO> items() {
+        return index.items();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(loadedAt, now);
+    }
+}
@@ -0,0 +1,157 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x43415431;
+    private static final int FORMAT_VERSION = 2;
+    private static final int NULL_REF = -1;
+    private static final int NULL_PRICE = Integer.MIN_VALUE;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int MIN_ITEM_BYTES = 6 * Integer.BYTES + 2;
+
+    private CatalogSnapshotFile() {
+    }
+
+    public static void write(Path file, CatalogPayload payload) throws IOException {
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> refs = new HashMap<>();
+        for (ComesticDTO item : payload.items()) {
+            ref(refs, dictionary, item.getType());
+            ref(refs, dictionary, item.getRarity());
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, payload.hash());
+                out.writeLong(payload.loadedAt() != null ? payload.loadedAt().toEpochMilli() : NULL_TIMESTAMP);
+                out.writeInt(dictionary.size());
+                for (String value : dictionary) {
+                    writeString(out, value);
+                }
+                out.writeInt(payload.items().size());
+                for (ComesticDTO item : payload.items()) {
+                    writeString(out, item.getId());
+                    writeString(out, item.getName());
+                    out.writeInt(item.getType() != null ? refs.get(item.getType()) : NULL_REF);
+                    out.writeInt(item.getRarity() != null ? refs.get(item.getRarity()) : NULL_REF);
+                    writeString(out, item.getImageUrl());
+                    out.writeInt(item.getPrice() != null ? item.getPrice() : NULL_PRICE);
+                    out.writeByte(flag(item.getIsNew()));
+                    out.writeByte(flag(item.getIsOnSale()));
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static CatalogPayload read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            int version = buffer.getInt() == MAGIC ? buffer.getInt() : -1;
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Formato de snapshot do catálogo inválido: " + file);
+            }
+
+            String hash = readString(buffer);
+            long millis = buffer.getLong();
+            Instant loadedAt = millis != NULL_TIMESTAMP ? Instant.ofEpochMilli(millis) : null;
+            String[] dictionary = new String[readCount(buffer, Integer.BYTES)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(buffer);
+            }
+
+            int count = readCount(buffer, MIN_ITEM_BYTES);
+            List<ComesticDTO> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = readString(buffer);
+                String name = readString(buffer);
+                int type = buffer.getInt();
+                int rarity = buffer.getInt();
+                String imageUrl = readString(buffer);
+                int price = buffer.getInt();
+                items.add(ComesticDTO.builder()
+                        .id(id)
+                        .name(name)
+                        .type(type != NULL_REF ? dictionary[type] : null)
+                        .rarity(rarity != NULL_REF ? dictionary[rarity] : null)
+                        .imageUrl(imageUrl)
+                        .price(price != NULL_PRICE ? price : null)
+                        .isNew(flag(buffer.get()))
+                        .isOnSale(flag(buffer.get()))
+                        .build());
+            }
+            return new CatalogPayload(items, hash, loadedAt);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IOException("Snapshot do catálogo truncado: " + file, ex);
+        }
+    }
+
+    private static void ref(Map<String, Integer> refs, List<String> dictionary, String value) {
+        if (value != null && !refs.containsKey(value)) {
+            refs.put(value, dictionary.size());
+            dictionary.add(value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_REF);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int readCount(ByteBuffer buffer, int minBytesPerEntry) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / minBytesPerEntry) {
+            throw new IOException("Contagem inválida no snapshot do catálogo: " + count);
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length == NULL_REF) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Tamanho de texto inválido no snapshot do catálogo: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int flag(Boolean value) {
+        return value == null ? 0 : value ? 2 : 1;
+    }
+
+    private static Boolean flag(byte value) {
+        return value == 0 ? null : value == 2;
+    }
+}
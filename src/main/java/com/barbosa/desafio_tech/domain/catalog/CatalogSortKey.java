@@ -0,0 +1,50 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+public enum CatalogSortKey {
+
+    SOURCE(null, null),
+    NAME("name", ComesticDTO::getName),
+    PRICE("price", ComesticDTO::getPrice),
+    RARITY("rarity", ComesticDTO::getRarity),
+    TYPE("type", ComesticDTO::getType);
+
+    private final String property;
+    private final Function<ComesticDTO, ?> extractor;
+
+    CatalogSortKey(String property, Function<ComesticDTO, ?> extractor) {
+        this.property = property;
+        this.extractor = extractor;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static CatalogSortKey fromProperty(String property) {
+        for (CatalogSortKey key : values()) {
+            if (key.property != null && key.property.equalsIgnoreCase(property)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Comparator<ComesticDTO> comparator(boolean descending) {
+        Comparator<Object> values = (left, right) -> {
+            if (left instanceof String a && right instanceof String b) {
+                return a.compareToIgnoreCase(b);
+            }
+            return ((Comparable<Object>) left).compareTo(right);
+        };
+        if (descending) {
+            values = values.reversed();
+        }
+        return Comparator.<ComesticDTO, Object>comparing(extractor::apply, Comparator.nullsLast(values));
+    }
+}
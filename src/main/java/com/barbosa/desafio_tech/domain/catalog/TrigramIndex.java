@@ -0,0 +1,108 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public final class TrigramIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NONE = new int[0];
+
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(Map<Long, int[]> postings) {
+        this.postings = postings;
+    }
+
+    public static TrigramIndex build(String[] lowerNames) {
+        Map<Long, Postings> builders = new HashMap<>();
+        for (int row = 0; row < lowerNames.length; row++) {
+            String name = lowerNames[row];
+            if (name == null) {
+                continue;
+            }
+            for (int i = 0; i + GRAM <= name.length(); i++) {
+                builders.computeIfAbsent(key(name, i), k -> new Postings()).add(row);
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, builder) -> postings.put(key, builder.toArray()));
+        return new TrigramIndex(postings);
+    }
+
+    public int[] candidates(String lowerToken) {
+        if (lowerToken.length() < GRAM) {
+            return null;
+        }
+
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i + GRAM <= lowerToken.length(); i++) {
+            keys.add(key(lowerToken, i));
+        }
+
+        int[][] lists = new int[keys.size()][];
+        int n = 0;
+        for (Long key : keys) {
+            int[] rows = postings.get(key);
+            if (rows == null) {
+                return NONE;
+            }
+            lists[n++] = rows;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(rows -> rows.length));
+
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] small, int[] large) {
+        int[] out = new int[small.length];
+        int size = 0;
+        int from = 0;
+        for (int row : small) {
+            int pos = Arrays.binarySearch(large, from, large.length, row);
+            if (pos >= 0) {
+                out[size++] = row;
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+                if (from >= large.length) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    private static long key(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class Postings {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComesticCursorPageDTO {
+
+    private List<ComesticDTO> content;
+    private Integer size;
+    private String nextCursor;
+    private Long catalogVersion;
+
+}
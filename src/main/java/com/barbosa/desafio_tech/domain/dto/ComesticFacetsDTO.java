@@ -0,0 +1,23 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComesticFacetsDTO {
+
+    private Integer total;
+    private Map<String, Integer> type;
+    private Map<String, Integer> rarity;
+    private Map<Boolean, Integer> isNew;
+    private Map<Boolean, Integer> isOnSale;
+    private Long catalogVersion;
+
+}
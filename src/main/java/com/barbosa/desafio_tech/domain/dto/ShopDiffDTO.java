@@ -0,0 +1,23 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopDiffDTO {
+
+    private String hash;
+    private String previousHash;
+    private Long catalogVersion;
+    private List<ComesticDTO> added;
+    private List<String> removed;
+    private List<ShopRepriceDTO> repriced;
+
+}
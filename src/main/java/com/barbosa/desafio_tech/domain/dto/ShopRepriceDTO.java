@@ -0,0 +1,18 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopRepriceDTO {
+
+    private String id;
+    private Integer previousPrice;
+    private Integer price;
+
+}
@@ -0,0 +1,29 @@
+package com.barbosa.desafio_tech.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "tb_catalog_sync")
+public class CatalogSync {
+
+    @Id
+    private String feed;
+    private String upstreamHash;
+    @Column(length = 64)
+    private String contentDigest;
+    private Integer itemCount;
+    private Instant syncedAt;
+    private Instant loadedAt;
+
+}
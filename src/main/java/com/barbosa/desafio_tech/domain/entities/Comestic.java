@@ -12,12 +12,15 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "tb_comestic")
+@Table(name = "tb_comestic", uniqueConstraints = @UniqueConstraint(columnNames = {"feed", "cosmetic_id"}))
 public class Comestic {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    private String feed;
+    @Column(name = "cosmetic_id")
+    private String cosmeticId;
     private String name;
     private String type;
     private String rarity;
@@ -25,5 +28,9 @@ public class Comestic {
     private Double price;
     private Boolean isNew;
     private Boolean isOnSale;
+    @Column(length = 64)
+    private String contentDigest;
+    @Column(name = "feed_position")
+    private Integer position;
 
 }
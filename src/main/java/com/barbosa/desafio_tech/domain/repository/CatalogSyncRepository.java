@@ -0,0 +1,7 @@
+package com.barbosa.desafio_tech.domain.repository;
+
+import com.barbosa.desafio_tech.domain.entities.CatalogSync;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CatalogSyncRepository extends JpaRepository<CatalogSync, String> {
+}
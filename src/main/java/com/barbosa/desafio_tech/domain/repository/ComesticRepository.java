@@ -3,5 +3,5 @@ package com.barbosa.desafio_tech.domain.repository;
 import com.barbosa.desafio_tech.domain.entities.Comestic;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ComesticRepository extends JpaRepository<Comestic, Integer> {
+public interface ComesticRepository extends JpaRepository<Comestic, Long> {
 }
@@ -0,0 +1,15 @@
+package com.barbosa.desafio_tech.domain.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CosmeticBatchRequest {
+    @NotEmpty
+    @Size(max = 300)
+    private List<@NotBlank String> ids;
+}
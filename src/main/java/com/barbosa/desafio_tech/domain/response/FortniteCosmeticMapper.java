@@ -0,0 +1,63 @@
+package com.barbosa.desafio_tech.domain.response;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class FortniteCosmeticMapper {
+
+    private FortniteCosmeticMapper() {
+    }
+
+    public static List<ComesticDTO> toDtos(Map<String, List<FortniteNewComesticResponse.Item>> itemsByCategory, boolean markAsSale) {
+        if (itemsByCategory == null || itemsByCategory.isEmpty()) {
+            return List.of();
+        }
+
+        int size = 0;
+        for (List<FortniteNewComesticResponse.Item> items : itemsByCategory.values()) {
+            size += items != null ? items.size() : 0;
+        }
+        List<ComesticDTO> result = new ArrayList<>(size);
+        for (List<FortniteNewComesticResponse.Item> items : itemsByCategory.values()) {
+            if (items == null) {
+                continue;
+            }
+            for (FortniteNewComesticResponse.Item item : items) {
+                if (item != null) {
+                    result.add(toDto(item, markAsSale));
+                }
+            }
+        }
+        return result;
+    }
+
+    public static ComesticDTO toDto(FortniteNewComesticResponse.Item item, boolean markAsSale) {
+        return ComesticDTO.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .type(item.getType() != null ? item.getType().getValue() : null)
+                .rarity(item.getRarity() != null ? item.getRarity().getValue() : null)
+                .imageUrl(imageUrl(item.getImages()))
+                .price(price(item.getPrice()))
+                .isNew(item.getIsNew())
+                .isOnSale(markAsSale || item.getOfferTag() != null || Boolean.TRUE.equals(item.getIsOnSale()))
+                .build();
+    }
+
+    private static String imageUrl(FortniteNewComesticResponse.Images images) {
+        if (images == null) {
+            return null;
+        }
+        return images.getIcon() != null ? images.getIcon() : images.getSmallIcon();
+    }
+
+    private static Integer price(FortniteNewComesticResponse.Price price) {
+        if (price == null) {
+            return null;
+        }
+        return price.getFinalPrice() != null ? price.getFinalPrice() : price.getRegularPrice();
+    }
+}
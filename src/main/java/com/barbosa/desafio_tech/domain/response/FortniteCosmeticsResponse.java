@@ -15,6 +15,7 @@ public class FortniteCosmeticsResponse {
 
     @Data
     public static class DataContainer {
+        private String hash;
         private List<CosmeticItem> br;
     }
 
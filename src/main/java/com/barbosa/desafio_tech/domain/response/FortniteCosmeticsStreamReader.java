@@ -0,0 +1,121 @@
+package com.barbosa.desafio_tech.domain.response;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class FortniteCosmeticsStreamReader {
+
+    private final ObjectMapper objectMapper;
+
+    public String read(InputStream in, Consumer<ComesticDTO> sink) throws IOException {
+        return read(in, null, sink);
+    }
+
+    public String read(InputStream in, String knownHash, Consumer<ComesticDTO> sink) throws IOException {
+        String hash = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                    hash = readData(parser, knownHash, sink);
+                    if (hash != null && hash.equals(knownHash)) {
+                        return hash;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return hash;
+    }
+
+    private String readData(JsonParser parser, String knownHash, Consumer<ComesticDTO> sink) throws IOException {
+        String hash = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("br".equals(field) && value == JsonToken.START_ARRAY) {
+                readItems(parser, sink);
+            } else if ("hash".equals(field)) {
+                hash = readText(parser, value);
+                if (hash != null && hash.equals(knownHash)) {
+                    return hash;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return hash;
+    }
+
+    private void readItems(JsonParser parser, Consumer<ComesticDTO> sink) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                sink.accept(readItem(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private ComesticDTO readItem(JsonParser parser) throws IOException {
+        ComesticDTO dto = new ComesticDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> dto.setId(readText(parser, value));
+                case "name" -> dto.setName(readText(parser, value));
+                case "type" -> dto.setType(readNestedText(parser, value, "displayValue"));
+                case "rarity" -> dto.setRarity(readNestedText(parser, value, "displayValue"));
+                case "images" -> dto.setImageUrl(readNestedText(parser, value, "smallIcon"));
+                default -> parser.skipChildren();
+            }
+        }
+        return dto;
+    }
+
+    private String readText(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private String readNestedText(JsonParser parser, JsonToken value, String key) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken nested = parser.nextToken();
+            if (key.equals(field)) {
+                result = readText(parser, nested);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+}
@@ -1,6 +1,9 @@
 package com.barbosa.desafio_tech.domain.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 import java.util.Map;
@@ -12,13 +15,53 @@ public class FortniteNewComesticResponse {
 
     @Data
     public static class DataWrapper {
-        private Map<String, List<Map<String, Object>>> items;
+        private Map<String, List<Item>> items;
         private String date;
         private String build;
         private String previousBuild;
     }
-}
 
+    @Data
+    public static class Item {
+        private String id;
+        private String name;
+        private ValueInfo type;
+        private ValueInfo rarity;
+        private Images images;
+        private Price price;
+        @JsonProperty("new")
+        private Boolean isNew;
+        private Boolean isOnSale;
+        private FortniteShopResponse.OfferTag offerTag;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class ValueInfo {
+        private String value;
+        private String displayValue;
+
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        public ValueInfo(String value) {
+            this.value = value;
+        }
+    }
 
+    @Data
+    public static class Images {
+        private String icon;
+        private String smallIcon;
+    }
 
+    @Data
+    @NoArgsConstructor
+    public static class Price {
+        private Integer finalPrice;
+        private Integer regularPrice;
 
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        public Price(int finalPrice) {
+            this.finalPrice = finalPrice;
+        }
+    }
+}
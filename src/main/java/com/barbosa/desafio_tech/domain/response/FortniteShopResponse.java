@@ -36,6 +36,7 @@ public class FortniteShopResponse {
         private String tileSize;
         private String newDisplayAssetPath;
         private List<Track> tracks;
+        private List<FortniteNewComesticResponse.Item> brItems;
     }
 
     @Data
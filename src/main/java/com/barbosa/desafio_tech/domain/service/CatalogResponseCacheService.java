@@ -0,0 +1,146 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class CatalogResponseCacheService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    public CatalogResponseCacheService(CatalogSnapshotService catalogSnapshotService,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${catalog.response-cache.enabled:true}") boolean enabled,
+                                       @Value("${catalog.response-cache.max-size:16MB}") DataSize maxSize,
+                                       @Value("${catalog.response-cache.max-entry-size:512KB}") DataSize maxEntrySize) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), maxBytes);
+        this.hits = meterRegistry.counter("catalog.response.cache", "result", "hit");
+        this.misses = meterRegistry.counter("catalog.response.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("catalog.response.cache.evictions");
+        Gauge.builder("catalog.response.cache.size", this, CatalogResponseCacheService::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public CachedResponse get(CatalogFeed feed, String query, Supplier<?> loader) {
+        OptionalLong version = catalogSnapshotService.currentVersion(feed);
+        if (enabled && version.isPresent()) {
+            byte[] cached = lookup(new Key(feed, version.getAsLong(), query));
+            if (cached != null) {
+                hits.increment();
+                return new CachedResponse(cached, version);
+            }
+            misses.increment();
+        }
+
+        byte[] body = serialize(loader.get());
+        if (version.isEmpty() || !catalogSnapshotService.currentVersion(feed).equals(version)) {
+            return new CachedResponse(body, OptionalLong.empty());
+        }
+        if (enabled) {
+            store(new Key(feed, version.getAsLong(), query), body);
+        }
+        return new CachedResponse(body, version);
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, byte[]> entry = it.next();
+                if (entry.getKey().feed() == event.feed() && entry.getKey().version() < event.current().version()) {
+                    bytes -= entry.getValue().length;
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] lookup(Key key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(Key key, byte[] body) {
+        if (body.length > maxEntryBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            byte[] previous = entries.put(key, body);
+            bytes += body.length - (previous != null ? previous.length : 0);
+            Iterator<Map.Entry<Key, byte[]>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double sizeInBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar a resposta do catálogo", ex);
+        }
+    }
+
+    public record CachedResponse(byte[] body, OptionalLong version) {
+    }
+
+    private record Key(CatalogFeed feed, long version, String query) {
+    }
+}
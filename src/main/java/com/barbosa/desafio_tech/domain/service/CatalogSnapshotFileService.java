@@ -0,0 +1,105 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshotFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@Slf4j
+public class CatalogSnapshotFileService {
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Map<CatalogFeed, String> writtenHashes = new ConcurrentHashMap<>();
+    private final Map<CatalogFeed, CatalogSnapshot> pending = new ConcurrentHashMap<>();
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-file");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogSnapshotFileService(@Value("${catalog.file.enabled:true}") boolean enabled,
+                                      @Value("${catalog.file.directory:${java.io.tmpdir}/desafio-tech/catalog}") String directory) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+    }
+
+    public Optional<CatalogPayload> load(CatalogFeed feed) {
+        Path file = file(feed);
+        if (!enabled || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            long start = System.nanoTime();
+            CatalogPayload payload = CatalogSnapshotFile.read(file);
+            if (payload.hash() != null) {
+                writtenHashes.put(feed, payload.hash());
+            }
+            log.debug("Snapshot do catálogo {} lido de {} em {} ms", feed, file, (System.nanoTime() - start) / 1_000_000);
+            return Optional.of(payload);
+        } catch (IOException ex) {
+            log.warn("Falha ao ler o snapshot do catálogo {} em {}", feed, file, ex);
+            return Optional.empty();
+        }
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.current();
+        if (!enabled || (snapshot.hash() != null && snapshot.hash().equals(writtenHashes.get(snapshot.feed())))) {
+            return;
+        }
+
+        if (pending.put(snapshot.feed(), snapshot) == null) {
+            try {
+                writeExecutor.execute(() -> write(snapshot.feed()));
+            } catch (RejectedExecutionException ex) {
+                pending.remove(snapshot.feed());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeExecutor.shutdown();
+    }
+
+    private void write(CatalogFeed feed) {
+        CatalogSnapshot snapshot = pending.remove(feed);
+        if (snapshot == null) {
+            return;
+        }
+
+        Path file = file(feed);
+        try {
+            CatalogSnapshotFile.write(file, new CatalogPayload(snapshot.items(), snapshot.hash(), snapshot.loadedAt()));
+            if (snapshot.hash() != null) {
+                writtenHashes.put(snapshot.feed(), snapshot.hash());
+            }
+        } catch (IOException ex) {
+            log.warn("Falha ao gravar o snapshot do catálogo {} em {}", snapshot.feed(), file, ex);
+        }
+    }
+
+    private Path file(CatalogFeed feed) {
+        return directory.resolve(feed.key() + ".bin");
+    }
+}
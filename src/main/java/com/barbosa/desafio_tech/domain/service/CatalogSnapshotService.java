@@ -0,0 +1,388 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogIndex;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+
+    private final FortniteApiService fortniteApiService;
+    private final CatalogSyncService catalogSyncService;
+    private final CatalogSnapshotFileService catalogSnapshotFileService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Duration refreshInterval;
+    private final Duration maxStaleness;
+    private final Duration loadTimeout;
+    private final int retainedVersions;
+    private final boolean shopRotation;
+    private final Map<CatalogFeed, Boolean> enabled = new EnumMap<>(CatalogFeed.class);
+    private final Map<CatalogFeed, AtomicReference<CatalogSnapshot>> snapshots = new EnumMap<>(CatalogFeed.class);
+    private final Map<CatalogFeed, ConcurrentSkipListMap<Long, CatalogSnapshot>> retained = new EnumMap<>(CatalogFeed.class);
+    private final Map<CatalogFeed, CompletableFuture<CatalogSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+    private final ReentrantLock joinLock = new ReentrantLock();
+    private final ExecutorService refreshExecutor;
+
+    public CatalogSnapshotService(FortniteApiService fortniteApiService,
+                                  CatalogSyncService catalogSyncService,
+                                  CatalogSnapshotFileService catalogSnapshotFileService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  Environment environment,
+                                  @Value("${catalog.refresh-interval:PT10M}") Duration refreshInterval,
+                                  @Value("${catalog.max-staleness:PT1H}") Duration maxStaleness,
+                                  @Value("${catalog.load-timeout:PT30S}") Duration loadTimeout,
+                                  @Value("${catalog.retained-versions:2}") int retainedVersions) {
+        this.fortniteApiService = fortniteApiService;
+        this.catalogSyncService = catalogSyncService;
+        this.catalogSnapshotFileService = catalogSnapshotFileService;
+        this.eventPublisher = eventPublisher;
+        this.clock = Clock.systemUTC();
+        this.refreshInterval = refreshInterval;
+        this.maxStaleness = maxStaleness;
+        this.loadTimeout = loadTimeout;
+        this.retainedVersions = Math.max(1, retainedVersions);
+        this.shopRotation = environment.getProperty("catalog.shop-rotation.enabled", Boolean.class, true);
+        for (CatalogFeed feed : CatalogFeed.values()) {
+            enabled.put(feed, environment.getProperty("catalog.snapshot." + feed.key() + ".enabled", Boolean.class, true));
+            snapshots.put(feed, new AtomicReference<>());
+            retained.put(feed, new ConcurrentSkipListMap<>());
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            this.refreshExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catalog-refresh-", 1).factory());
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            this.refreshExecutor = Executors.newFixedThreadPool(CatalogFeed.values().length, runnable -> {
+                Thread thread = new Thread(runnable, "catalog-refresh-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public boolean isEnabled(CatalogFeed feed) {
+        return enabled.get(feed);
+    }
+
+    public Optional<CatalogSnapshot> current(CatalogFeed feed) {
+        return currentAsync(feed).blockOptional();
+    }
+
+    public Mono<CatalogSnapshot> currentAsync(CatalogFeed feed) {
+        return Mono.defer(() -> {
+            if (!isEnabled(feed)) {
+                return Mono.empty();
+            }
+
+            CatalogSnapshot snapshot = snapshots.get(feed).get();
+            if (snapshot == null) {
+                return awaitRefresh(feed, null);
+            }
+
+            Duration age = snapshot.age(clock.instant());
+            if (age.compareTo(maxStaleness) > 0) {
+                return awaitRefresh(feed, snapshot);
+            }
+            if (age.compareTo(refreshInterval) > 0 && !rotationScheduled(feed)) {
+                refresh(feed);
+            }
+            return Mono.just(snapshot);
+        });
+    }
+
+    public Optional<CatalogSnapshot> latest(CatalogFeed feed) {
+        return isEnabled(feed) ? Optional.ofNullable(snapshots.get(feed).get()) : Optional.empty();
+    }
+
+    public OptionalLong currentVersion(CatalogFeed feed) {
+        return latest(feed).map(snapshot -> OptionalLong.of(snapshot.version())).orElse(OptionalLong.empty());
+    }
+
+    public Duration age(CatalogSnapshot snapshot) {
+        return snapshot.age(clock.instant());
+    }
+
+    public boolean isStale(CatalogSnapshot snapshot) {
+        return age(snapshot).compareTo(refreshInterval) > 0;
+    }
+
+    public Optional<CatalogSnapshot> version(CatalogFeed feed, long version) {
+        return Optional.ofNullable(retained.get(feed).get(version));
+    }
+
+    public CompletableFuture<CatalogSnapshot> refresh(CatalogFeed feed) {
+        CompletableFuture<CatalogSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<CatalogSnapshot> existing = inFlight.putIfAbsent(feed, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    CatalogSnapshot loaded = load(feed);
+                    inFlight.remove(feed, created);
+                    created.complete(loaded);
+                } catch (Throwable ex) {
+                    inFlight.remove(feed, created);
+                    created.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(feed, created);
+            created.completeExceptionally(ex);
+        }
+        return created;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        List<CompletableFuture<CatalogSnapshot>> loads = new ArrayList<>();
+        for (CatalogFeed feed : CatalogFeed.values()) {
+            if (isEnabled(feed)) {
+                loads.add(CompletableFuture
+                        .supplyAsync(() -> snapshots.get(feed).get() == null ? restorePersisted(feed) : null, refreshExecutor)
+                        .thenCompose(restored -> refresh(feed))
+                        .exceptionally(ex -> {
+                            log.warn("Falha ao aquecer o catálogo {} na inicialização", feed, ex);
+                            return null;
+                        }));
+            }
+        }
+        CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, ex) -> log.info("Aquecimento do catálogo concluído em {} ms, pronto: {}",
+                        (System.nanoTime() - start) / 1_000_000, isReady()));
+    }
+
+    public boolean isReady() {
+        for (CatalogFeed feed : CatalogFeed.values()) {
+            if (isEnabled(feed) && snapshots.get(feed).get() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval:PT10M}", initialDelayString = "${catalog.refresh-interval:PT10M}")
+    public void scheduledRefresh() {
+        refreshEnabledFeeds();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refreshEnabledFeeds() {
+        for (CatalogFeed feed : CatalogFeed.values()) {
+            if (isEnabled(feed) && !rotationScheduled(feed)) {
+                refresh(feed);
+            }
+        }
+    }
+
+    private boolean rotationScheduled(CatalogFeed feed) {
+        return feed == CatalogFeed.SHOP && shopRotation;
+    }
+
+    private Mono<CatalogSnapshot> awaitRefresh(CatalogFeed feed, CatalogSnapshot fallback) {
+        return Mono.fromFuture(refresh(feed), true)
+                .timeout(loadTimeout)
+                .onErrorResume(ex -> {
+                    if (ex instanceof CatalogUnavailableException) {
+                        log.warn("Catálogo {} indisponível na API do Fortnite, servindo a última versão disponível", feed);
+                    } else {
+                        log.warn("Falha ao atualizar o catálogo {}, servindo a última versão disponível", feed, ex);
+                    }
+                    return Mono.justOrEmpty(fallback);
+                });
+    }
+
+    private CatalogSnapshot load(CatalogFeed feed) {
+        CatalogSnapshot current = snapshots.get(feed).get();
+        CatalogPayload payload;
+        try {
+            payload = fortniteApiService.fetchFeed(feed, current != null ? current.hash() : null);
+        } catch (RuntimeException ex) {
+            CatalogSnapshot restored = current == null ? restorePersisted(feed) : null;
+            if (restored != null) {
+                return restored;
+            }
+            throw ex;
+        }
+        if (payload.unchanged()) {
+            CatalogSnapshot touched = touch(feed);
+            if (touched == null) {
+                throw new IllegalStateException("Catálogo " + feed + " sem versão anterior para revalidar");
+            }
+            return touched;
+        }
+        CatalogSnapshot loaded = install(feed, payload);
+        log.info("Catálogo {} atualizado com {} itens (versão {})", feed, payload.items().size(), loaded.version());
+        return loaded;
+    }
+
+    private CatalogSnapshot touch(CatalogFeed feed) {
+        joinLock.lock();
+        try {
+            AtomicReference<CatalogSnapshot> current = snapshots.get(feed);
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                return null;
+            }
+            CatalogSnapshot touched = new CatalogSnapshot(feed, snapshot.version(), snapshot.hash(), clock.instant(), snapshot.index());
+            current.set(touched);
+            retained.get(feed).replace(snapshot.version(), snapshot, touched);
+            log.debug("Catálogo {} inalterado na API do Fortnite (versão {})", feed, snapshot.version());
+            return touched;
+        } finally {
+            joinLock.unlock();
+        }
+    }
+
+    private CatalogSnapshot restorePersisted(CatalogFeed feed) {
+        Optional<CatalogPayload> fromFile = catalogSnapshotFileService.load(feed);
+        if (fromFile.isPresent()) {
+            CatalogSnapshot restored = install(feed, fromFile.get());
+            log.info("Catálogo {} restaurado do disco com {} itens (carregado em {})", feed,
+                    fromFile.get().items().size(), restored.loadedAt());
+            return restored;
+        }
+
+        try {
+            return catalogSyncService.loadPersisted(feed)
+                    .map(payload -> {
+                        CatalogSnapshot restored = install(feed, payload);
+                        log.info("Catálogo {} restaurado do banco com {} itens (carregado em {})", feed,
+                                payload.items().size(), restored.loadedAt());
+                        return restored;
+                    })
+                    .orElse(null);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao restaurar o catálogo {} do banco", feed, ex);
+            return null;
+        }
+    }
+
+    private CatalogSnapshot install(CatalogFeed feed, CatalogPayload payload) {
+        Instant loadedAt = payload.loadedAt() != null ? payload.loadedAt() : clock.instant();
+        if (feed == CatalogFeed.NEW) {
+            CatalogSnapshot loaded = CatalogSnapshot.of(feed, versions.incrementAndGet(), payload, loadedAt);
+            publish(snapshots.get(feed).getAndSet(loaded), loaded);
+            return loaded;
+        }
+
+        CatalogSnapshot prebuilt = feed == CatalogFeed.ALL
+                ? CatalogSnapshot.of(feed, versions.incrementAndGet(), payload, loadedAt)
+                : null;
+        joinLock.lock();
+        try {
+            CatalogSnapshot loaded = prebuilt;
+            if (feed == CatalogFeed.SHOP) {
+                joinCatalog(payload.items(), snapshots.get(CatalogFeed.ALL).get());
+                loaded = CatalogSnapshot.of(feed, versions.incrementAndGet(), payload, loadedAt);
+            }
+            publish(snapshots.get(feed).getAndSet(loaded), loaded);
+            if (feed == CatalogFeed.ALL) {
+                rejoinShop(loaded);
+            }
+            return loaded;
+        } finally {
+            joinLock.unlock();
+        }
+    }
+
+    private void rejoinShop(CatalogSnapshot catalog) {
+        CatalogSnapshot shop = snapshots.get(CatalogFeed.SHOP).get();
+        if (shop == null) {
+            return;
+        }
+        List<ComesticDTO> items = shop.items();
+        int joined = joinCatalog(items, catalog);
+        if (joined == 0) {
+            return;
+        }
+        CatalogSnapshot rejoined = CatalogSnapshot.of(CatalogFeed.SHOP, versions.incrementAndGet(),
+                new CatalogPayload(items, shop.hash()), shop.loadedAt());
+        if (snapshots.get(CatalogFeed.SHOP).compareAndSet(shop, rejoined)) {
+            log.info("Loja atualizada com metadados do catálogo para {} itens (versão {})", joined, rejoined.version());
+            publish(shop, rejoined);
+        }
+    }
+
+    private int joinCatalog(List<ComesticDTO> shop, CatalogSnapshot catalog) {
+        if (catalog == null) {
+            return 0;
+        }
+        CatalogIndex index = catalog.index();
+        int joined = 0;
+        for (ComesticDTO item : shop) {
+            ComesticDTO metadata = item.getId() != null ? index.byId(item.getId()) : null;
+            if (metadata == null) {
+                continue;
+            }
+            if (!Objects.equals(item.getName(), metadata.getName())
+                    || !Objects.equals(item.getType(), metadata.getType())
+                    || !Objects.equals(item.getRarity(), metadata.getRarity())
+                    || !Objects.equals(item.getImageUrl(), metadata.getImageUrl())) {
+                item.setName(metadata.getName());
+                item.setType(metadata.getType());
+                item.setRarity(metadata.getRarity());
+                item.setImageUrl(metadata.getImageUrl());
+                joined++;
+            }
+        }
+        return joined;
+    }
+
+    private void publish(CatalogSnapshot previous, CatalogSnapshot loaded) {
+        ConcurrentSkipListMap<Long, CatalogSnapshot> history = retained.get(loaded.feed());
+        history.put(loaded.version(), loaded);
+        while (history.size() > retainedVersions) {
+            history.pollFirstEntry();
+        }
+        try {
+            eventPublisher.publishEvent(new CatalogRefreshedEvent(previous, loaded));
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao processar a atualização do catálogo {}", loaded.feed(), ex);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.entities.CatalogSync;
+import com.barbosa.desafio_tech.domain.repository.CatalogSyncRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@Slf4j
+public class CatalogSyncService {
+
+    private static final Set<CatalogFeed> PERSISTED_FEEDS = Set.of(CatalogFeed.ALL, CatalogFeed.SHOP);
+
+    private static final String SELECT_DIGESTS =
+            "SELECT cosmetic_id, content_digest, feed_position FROM tb_comestic WHERE feed = ?";
+    private static final String SELECT_ITEMS =
+            "SELECT cosmetic_id, name, type, rarity, image_url, price, is_new, is_on_sale FROM tb_comestic WHERE feed = ? ORDER BY feed_position, id";
+    private static final String INSERT_ITEM =
+            "INSERT INTO tb_comestic (name, type, rarity, image_url, price, is_new, is_on_sale, content_digest, feed_position, feed, cosmetic_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ITEM =
+            "UPDATE tb_comestic SET name = ?, type = ?, rarity = ?, image_url = ?, price = ?, is_new = ?, is_on_sale = ?, content_digest = ?, feed_position = ? WHERE feed = ? AND cosmetic_id = ?";
+    private static final String DELETE_ITEM =
+            "DELETE FROM tb_comestic WHERE feed = ? AND cosmetic_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogSyncRepository catalogSyncRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Map<CatalogFeed, CatalogSnapshot> pending = new ConcurrentHashMap<>();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogSyncService(JdbcTemplate jdbcTemplate,
+                              CatalogSyncRepository catalogSyncRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${catalog.sync.enabled:true}") boolean enabled,
+                              @Value("${catalog.sync.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogSyncRepository = catalogSyncRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.current();
+        if (!enabled || !PERSISTED_FEEDS.contains(snapshot.feed())) {
+            return;
+        }
+
+        if (pending.put(snapshot.feed(), snapshot) == null) {
+            try {
+                syncExecutor.execute(() -> sync(snapshot.feed()));
+            } catch (RejectedExecutionException ex) {
+                pending.remove(snapshot.feed());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    private void sync(CatalogFeed feed) {
+        CatalogSnapshot snapshot = pending.remove(feed);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(snapshot));
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao sincronizar o catálogo {} com o banco", feed, ex);
+        }
+    }
+
+    private void persist(CatalogSnapshot snapshot) {
+        String feed = snapshot.feed().name();
+        CatalogSync sync = catalogSyncRepository.findById(feed).orElseGet(() -> new CatalogSync(feed, null, null, 0, null, null));
+        List<Row> rows = rows(snapshot.items());
+        String contentDigest = contentDigest(rows);
+        if (snapshot.hash() != null && snapshot.hash().equals(sync.getUpstreamHash())
+                && contentDigest.equals(sync.getContentDigest())) {
+            log.debug("Catálogo {} sem alterações (hash {}), sincronização ignorada", feed, snapshot.hash());
+            return;
+        }
+
+        Map<String, Row> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_DIGESTS, rs -> {
+            String id = rs.getString("cosmetic_id");
+            stored.put(id, new Row(id, null, rs.getObject("feed_position", Integer.class), rs.getString("content_digest")));
+        }, feed);
+
+        List<Row> inserts = new ArrayList<>();
+        List<Row> updates = new ArrayList<>();
+        for (Row row : rows) {
+            Row previous = stored.remove(row.id());
+            if (previous == null) {
+                inserts.add(row);
+            } else if (!row.digest().equals(previous.digest()) || !row.position().equals(previous.position())) {
+                updates.add(row);
+            }
+        }
+        List<String> deletes = new ArrayList<>(stored.keySet());
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM, inserts, batchSize, (ps, row) -> bindRow(ps, row, feed));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ITEM, updates, batchSize, (ps, row) -> bindRow(ps, row, feed));
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ITEM, deletes, batchSize, (ps, id) -> {
+                ps.setString(1, feed);
+                ps.setString(2, id);
+            });
+        }
+
+        sync.setUpstreamHash(snapshot.hash());
+        sync.setContentDigest(contentDigest);
+        sync.setItemCount(rows.size());
+        sync.setSyncedAt(Instant.now());
+        sync.setLoadedAt(snapshot.loadedAt());
+        catalogSyncRepository.save(sync);
+
+        log.info("Catálogo {} sincronizado: {} inseridos, {} atualizados, {} removidos",
+                feed, inserts.size(), updates.size(), deletes.size());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CatalogPayload> loadPersisted(CatalogFeed feed) {
+        if (!enabled || !PERSISTED_FEEDS.contains(feed)) {
+            return Optional.empty();
+        }
+
+        Optional<CatalogSync> sync = catalogSyncRepository.findById(feed.name());
+        if (sync.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<ComesticDTO> items = jdbcTemplate.query(SELECT_ITEMS, (rs, rowNum) -> mapRow(rs), feed.name());
+        if (items.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant loadedAt = sync.get().getLoadedAt() != null ? sync.get().getLoadedAt() : sync.get().getSyncedAt();
+        return Optional.of(new CatalogPayload(items, sync.get().getUpstreamHash(), loadedAt));
+    }
+
+    private void bindRow(PreparedStatement ps, Row row, String feed) throws SQLException {
+        ComesticDTO item = row.item();
+        ps.setString(1, item.getName());
+        ps.setString(2, item.getType());
+        ps.setString(3, item.getRarity());
+        ps.setString(4, item.getImageUrl());
+        ps.setObject(5, item.getPrice() != null ? item.getPrice().doubleValue() : null, Types.DOUBLE);
+        ps.setObject(6, item.getIsNew(), Types.BOOLEAN);
+        ps.setObject(7, item.getIsOnSale(), Types.BOOLEAN);
+        ps.setString(8, row.digest());
+        ps.setInt(9, row.position());
+        ps.setString(10, feed);
+        ps.setString(11, row.id());
+    }
+
+    private ComesticDTO mapRow(ResultSet rs) throws SQLException {
+        Double price = rs.getObject("price", Double.class);
+        return ComesticDTO.builder()
+                .id(rs.getString("cosmetic_id"))
+                .name(rs.getString("name"))
+                .type(rs.getString("type"))
+                .rarity(rs.getString("rarity"))
+                .imageUrl(rs.getString("image_url"))
+                .price(price != null ? price.intValue() : null)
+                .isNew(rs.getObject("is_new", Boolean.class))
+                .isOnSale(rs.getObject("is_on_sale", Boolean.class))
+                .build();
+    }
+
+    private List<Row> rows(List<ComesticDTO> items) {
+        Set<String> seen = new HashSet<>();
+        List<Row> rows = new ArrayList<>(items.size());
+        MessageDigest digest = sha256();
+        for (ComesticDTO item : items) {
+            if (item.getId() == null || !seen.add(item.getId())) {
+                continue;
+            }
+            rows.add(new Row(item.getId(), item, rows.size(), rowDigest(digest, item)));
+        }
+        return rows;
+    }
+
+    private String contentDigest(List<Row> rows) {
+        MessageDigest digest = sha256();
+        for (Row row : rows) {
+            update(digest, row.id());
+            update(digest, row.digest());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String rowDigest(MessageDigest digest, ComesticDTO item) {
+        update(digest, item.getName());
+        update(digest, item.getType());
+        update(digest, item.getRarity());
+        update(digest, item.getImageUrl());
+        update(digest, item.getPrice() != null ? item.getPrice().toString() : null);
+        update(digest, item.getIsNew() != null ? item.getIsNew().toString() : null);
+        update(digest, item.getIsOnSale() != null ? item.getIsOnSale().toString() : null);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record Row(String id, ComesticDTO item, Integer position, String digest) {
+    }
+}
@@ -1,14 +1,30 @@
 package com.barbosa.desafio_tech.domain.service;
 
+import com.barbosa.desafio_tech.domain.catalog.CatalogCursor;
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogIndex;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSortKey;
+import com.barbosa.desafio_tech.domain.dto.ComesticCursorPageDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFacetsDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import com.barbosa.desafio_tech.domain.service.serviceException.ComesticNotFoundException;
+import com.barbosa.desafio_tech.domain.service.serviceException.CursorExpiredException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCursorException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,42 +33,183 @@ import java.util.stream.Collectors;
 public class ComesticService {
 
     private final FortniteApiService fortniteApiService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CosmeticLookupService cosmeticLookupService;
+    private final ObjectMapper objectMapper;
 
     public Page<ComesticDTO> listAll(Pageable pageable, ComesticFilterDTO filter) {
+        return listAllAsync(pageable, filter).block();
+    }
+
+    public Mono<Page<ComesticDTO>> listAllAsync(Pageable pageable, ComesticFilterDTO filter) {
         Pageable effectivePageable = normalizePageable(pageable);
-        List<ComesticDTO> all = fortniteApiService.getAllCosmetics();
-        List<ComesticDTO> filtered = applyFilter(all, filter);
-        return paginate(filtered, effectivePageable);
+        return catalogSnapshotService.currentAsync(CatalogFeed.ALL)
+                .map(snapshot -> query(snapshot.index(), filter, effectivePageable, CatalogSortKey.NAME))
+                .switchIfEmpty(Mono.defer(() -> upstreamItems(CatalogFeed.ALL)
+                        .map(all -> paginate(applyFilter(all, filter), effectivePageable, CatalogSortKey.NAME))));
+    }
+
+    public ComesticFacetsDTO facets(ComesticFilterDTO filter) {
+        return facetsAsync(filter).block();
+    }
+
+    public Mono<ComesticFacetsDTO> facetsAsync(ComesticFilterDTO filter) {
+        return catalogSnapshotService.currentAsync(CatalogFeed.ALL)
+                .map(snapshot -> toFacets(snapshot.index().facets(filter), snapshot.version()))
+                .switchIfEmpty(Mono.defer(() -> upstreamItems(CatalogFeed.ALL)
+                        .map(all -> toFacets(CatalogIndex.facets(all, filter), null))));
     }
 
     public Page<ComesticDTO> listNew(Pageable pageable) {
-        Pageable effectivePageable = normalizePageable(pageable);
-        List<ComesticDTO> list = fortniteApiService.getNewCosmetics();
-        return paginate(list, effectivePageable);
+        return listNewAsync(pageable).block();
+    }
+
+    public Mono<Page<ComesticDTO>> listNewAsync(Pageable pageable) {
+        return listFeedAsync(CatalogFeed.NEW, pageable, null);
+    }
+
+    public Page<ComesticDTO> listShop(Pageable pageable, ComesticFilterDTO filter) {
+        return listShopAsync(pageable, filter).block();
+    }
+
+    public Mono<Page<ComesticDTO>> listShopAsync(Pageable pageable, ComesticFilterDTO filter) {
+        return listFeedAsync(CatalogFeed.SHOP, pageable, filter);
     }
 
-    public Page<ComesticDTO> listShop(Pageable pageable) {
+    public ComesticCursorPageDTO scroll(CatalogFeed feed, String cursor, Pageable pageable, ComesticFilterDTO filter) {
         Pageable effectivePageable = normalizePageable(pageable);
-        List<ComesticDTO> list = fortniteApiService.getShopItems();
-        return paginate(list, effectivePageable);
+        CatalogCursor position = cursor != null && !cursor.isBlank() ? decodeCursor(feed, cursor) : null;
+
+        CatalogSnapshot snapshot;
+        if (position != null) {
+            snapshot = catalogSnapshotService.version(feed, position.version())
+                    .orElseThrow(() -> new CursorExpiredException("O cursor refere-se a uma versão do catálogo que não está mais disponível"));
+        } else {
+            snapshot = catalogSnapshotService.current(feed)
+                    .orElseThrow(() -> new CatalogUnavailableException("Catálogo " + feed.key() + " indisponível no momento"));
+            Sort.Order order = sortOrder(effectivePageable.getSort());
+            position = new CatalogCursor(feed, snapshot.version(),
+                    order != null ? CatalogSortKey.fromProperty(order.getProperty()) : defaultSortKey(feed),
+                    order != null && order.isDescending(),
+                    feed != CatalogFeed.NEW ? filter : null,
+                    -1);
+        }
+
+        CatalogIndex index = snapshot.index();
+        CatalogIndex.Scroll scroll = index.scroll(index.matching(position.filter()), position.sort(), position.descending(),
+                position.position(), effectivePageable.getPageSize());
+        String nextCursor = scroll.hasMore()
+                ? encodeCursor(new CatalogCursor(feed, snapshot.version(), position.sort(), position.descending(),
+                        position.filter(), scroll.lastPosition()))
+                : null;
+
+        return ComesticCursorPageDTO.builder()
+                .content(scroll.content())
+                .size(scroll.content().size())
+                .nextCursor(nextCursor)
+                .catalogVersion(snapshot.version())
+                .build();
     }
 
     public ComesticDTO getById(String id) {
-        return fortniteApiService.getCosmeticById(id);
+        return getByIdAsync(id).block();
+    }
+
+    public Mono<ComesticDTO> getByIdAsync(String id) {
+        return cosmeticLookupService.findAsync(id)
+                .switchIfEmpty(Mono.error(() -> new ComesticNotFoundException("Cosmético não encontrado com id: " + id)));
+    }
+
+    public List<ComesticDTO> getByIds(List<String> ids) {
+        return cosmeticLookupService.findAll(ids);
+    }
+
+    public Mono<List<ComesticDTO>> getByIdsAsync(List<String> ids) {
+        return cosmeticLookupService.findAllAsync(ids);
+    }
+
+    private Mono<Page<ComesticDTO>> listFeedAsync(CatalogFeed feed, Pageable pageable, ComesticFilterDTO filter) {
+        Pageable effectivePageable = normalizePageable(pageable);
+        return catalogSnapshotService.currentAsync(feed)
+                .map(snapshot -> query(snapshot.index(), filter, effectivePageable, CatalogSortKey.SOURCE))
+                .switchIfEmpty(Mono.defer(() -> upstreamItems(feed)
+                        .map(items -> paginate(applyFilter(items, filter), effectivePageable, CatalogSortKey.SOURCE))));
+    }
+
+    private Mono<List<ComesticDTO>> upstreamItems(CatalogFeed feed) {
+        return fortniteApiService.getItemsAsync(feed)
+                .onErrorMap(ex -> !(ex instanceof CatalogUnavailableException),
+                        ex -> new CatalogUnavailableException("Catálogo " + feed.key() + " indisponível no momento"));
+    }
+
+    private Page<ComesticDTO> query(CatalogIndex index, ComesticFilterDTO filter, Pageable pageable, CatalogSortKey defaultKey) {
+        BitSet matches = index.matching(filter);
+        int total = index.count(matches);
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(Collections.emptyList(), pageable, total);
+        }
+        Sort.Order order = sortOrder(pageable.getSort());
+        CatalogSortKey key = order != null ? CatalogSortKey.fromProperty(order.getProperty()) : defaultKey;
+        boolean descending = order != null && order.isDescending();
+        List<ComesticDTO> content = index.page(matches, key, descending, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private ComesticFacetsDTO toFacets(CatalogIndex.Facets facets, Long catalogVersion) {
+        return ComesticFacetsDTO.builder()
+                .total(facets.total())
+                .type(facets.type())
+                .rarity(facets.rarity())
+                .isNew(facets.isNew())
+                .isOnSale(facets.isOnSale())
+                .catalogVersion(catalogVersion)
+                .build();
+    }
+
+    private CatalogSortKey defaultSortKey(CatalogFeed feed) {
+        return feed == CatalogFeed.ALL ? CatalogSortKey.NAME : CatalogSortKey.SOURCE;
+    }
+
+    private String encodeCursor(CatalogCursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao gerar o cursor de paginação", ex);
+        }
+    }
+
+    private CatalogCursor decodeCursor(CatalogFeed feed, String value) {
+        CatalogCursor cursor;
+        try {
+            cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(value), CatalogCursor.class);
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new InvalidCursorException("Cursor de paginação inválido");
+        }
+        if (cursor == null || cursor.feed() != feed || cursor.sort() == null) {
+            throw new InvalidCursorException("Cursor de paginação inválido");
+        }
+        return cursor;
+    }
+
+    private Sort.Order sortOrder(Sort sort) {
+        return sort.stream()
+                .filter(order -> CatalogSortKey.fromProperty(order.getProperty()) != null)
+                .findFirst()
+                .orElse(null);
     }
 
     private List<ComesticDTO> applyFilter(List<ComesticDTO> list, ComesticFilterDTO comestic) {
         if (list == null || list.isEmpty()) {
             return List.of();
         }
-        if (comestic == null) return sortByName(list);
+        if (comestic == null) return list;
         return list.stream()
                 .filter(c -> comestic.getName() == null || containsIgnoreCase(c.getName(), comestic.getName()))
                 .filter(c -> comestic.getType() == null || Objects.equals(c.getType(), comestic.getType()))
                 .filter(c -> comestic.getRarity() == null || Objects.equals(c.getRarity(), comestic.getRarity()))
                 .filter(c -> comestic.getIsNew() == null || Objects.equals(c.getIsNew(), comestic.getIsNew()))
                 .filter(c -> comestic.getIsOnSale() == null || Objects.equals(c.getIsOnSale(), comestic.getIsOnSale()))
-                .collect(Collectors.collectingAndThen(Collectors.toList(), this::sortByName));
+                .collect(Collectors.toList());
     }
 
     private boolean containsIgnoreCase(String text, String token) {
@@ -60,23 +217,22 @@ public class ComesticService {
         return text.toLowerCase(Locale.ROOT).contains(token.toLowerCase(Locale.ROOT));
     }
 
-    private Page<ComesticDTO> paginate(List<ComesticDTO> list, Pageable pageable) {
+    private Page<ComesticDTO> paginate(List<ComesticDTO> list, Pageable pageable, CatalogSortKey defaultKey) {
         if (list == null || list.isEmpty()) {
             return new PageImpl<>(Collections.emptyList(), pageable, 0);
         }
         int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), list.size());
         if (start >= list.size()) {
             return new PageImpl<>(Collections.emptyList(), pageable, list.size());
         }
-        List<ComesticDTO> content = list.subList(start, end);
-        return new PageImpl<>(content, pageable, list.size());
-    }
-
-    private List<ComesticDTO> sortByName(List<ComesticDTO> cosmetics) {
-        return cosmetics.stream()
-                .sorted(Comparator.comparing(ComesticDTO::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
-                .collect(Collectors.toList());
+        Sort.Order order = sortOrder(pageable.getSort());
+        CatalogSortKey key = order != null ? CatalogSortKey.fromProperty(order.getProperty()) : defaultKey;
+        List<ComesticDTO> sorted = new ArrayList<>(list);
+        if (key != CatalogSortKey.SOURCE) {
+            sorted.sort(key.comparator(order != null && order.isDescending()));
+        }
+        int end = Math.min(start + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(start, end), pageable, sorted.size());
     }
 
     private Pageable normalizePageable(Pageable pageable) {
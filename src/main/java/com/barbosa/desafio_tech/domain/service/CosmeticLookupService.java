@@ -0,0 +1,175 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogIndex;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class CosmeticLookupService {
+
+    private final FortniteApiService fortniteApiService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Duration batchDeadline;
+    private final int batchConcurrency;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedLookup> entries;
+
+    public CosmeticLookupService(FortniteApiService fortniteApiService,
+                                 CatalogSnapshotService catalogSnapshotService,
+                                 @Value("${catalog.lookup.ttl:PT30M}") Duration ttl,
+                                 @Value("${catalog.lookup.negative-ttl:PT1M}") Duration negativeTtl,
+                                 @Value("${catalog.lookup.max-entries:10000}") int maxEntries,
+                                 @Value("${catalog.lookup.batch-deadline:PT3S}") Duration batchDeadline,
+                                 @Value("${catalog.lookup.batch-concurrency:16}") int batchConcurrency) {
+        this.fortniteApiService = fortniteApiService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.batchDeadline = batchDeadline;
+        this.batchConcurrency = Math.max(1, batchConcurrency);
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedLookup> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Mono<ComesticDTO> findAsync(String id) {
+        return Mono.defer(() -> {
+            if (id == null || id.isBlank()) {
+                return Mono.empty();
+            }
+
+            CachedLookup local = local(currentIndex(), id, System.nanoTime());
+            if (local != null) {
+                return Mono.justOrEmpty(local.value());
+            }
+
+            return fetch(id).onErrorMap(ex -> new CatalogUnavailableException(
+                    "Não foi possível consultar o cosmético " + id + " na API do Fortnite"));
+        });
+    }
+
+    public List<ComesticDTO> findAll(Collection<String> ids) {
+        return findAllAsync(ids).block();
+    }
+
+    public Mono<List<ComesticDTO>> findAllAsync(Collection<String> ids) {
+        return Mono.defer(() -> {
+            CatalogIndex index = currentIndex();
+            long now = System.nanoTime();
+            Map<String, ComesticDTO> found = new LinkedHashMap<>();
+            List<String> remote = new ArrayList<>();
+            for (String id : ids) {
+                if (id == null || id.isBlank() || found.containsKey(id)) {
+                    continue;
+                }
+                CachedLookup local = local(index, id, now);
+                found.put(id, local != null ? local.value() : null);
+                if (local == null) {
+                    remote.add(id);
+                }
+            }
+
+            return Flux.fromIterable(remote)
+                    .flatMap(id -> fetch(id)
+                            .map(item -> Map.entry(id, item))
+                            .onErrorResume(ex -> {
+                                log.warn("Falha ao consultar cosmetic {} na API do Fortnite", id, ex);
+                                return Mono.empty();
+                            }), batchConcurrency)
+                    .take(batchDeadline)
+                    .collectList()
+                    .map(fetched -> {
+                        fetched.forEach(entry -> found.put(entry.getKey(), entry.getValue()));
+                        return found.values().stream()
+                                .filter(Objects::nonNull)
+                                .toList();
+                    });
+        });
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (event.feed() != CatalogFeed.ALL) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> entry.value() == null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CatalogIndex currentIndex() {
+        return catalogSnapshotService.latest(CatalogFeed.ALL)
+                .map(CatalogSnapshot::index)
+                .orElse(null);
+    }
+
+    private CachedLookup local(CatalogIndex index, String id, long now) {
+        ComesticDTO indexed = index != null ? index.byId(id) : null;
+        return indexed != null ? new CachedLookup(indexed, Long.MAX_VALUE) : cached(id, now);
+    }
+
+    private Mono<ComesticDTO> fetch(String id) {
+        return fortniteApiService.findCosmeticByIdAsync(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(fetched -> {
+                    long expiresAt = System.nanoTime() + (fetched.isPresent() ? ttlNanos : negativeTtlNanos);
+                    store(id, new CachedLookup(fetched.orElse(null), expiresAt));
+                    return fetched.map(Mono::just).orElseGet(Mono::empty);
+                });
+    }
+
+    private CachedLookup cached(String id, long now) {
+        lock.lock();
+        try {
+            CachedLookup entry = entries.get(id);
+            if (entry != null && entry.expiresAt() - now <= 0) {
+                entries.remove(id);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String id, CachedLookup entry) {
+        lock.lock();
+        try {
+            entries.put(id, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CachedLookup(ComesticDTO value, long expiresAt) {
+    }
+}
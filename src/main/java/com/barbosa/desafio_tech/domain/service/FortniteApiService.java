@@ -1,20 +1,45 @@
 package com.barbosa.desafio_tech.domain.service;
 
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
-import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsResponse;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticMapper;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
 import com.barbosa.desafio_tech.domain.response.FortniteNewComesticResponse;
 import com.barbosa.desafio_tech.domain.response.FortniteShopResponse;
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -22,141 +47,229 @@ import java.util.stream.Collectors;
 public class FortniteApiService {
 
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final int STREAM_DEMAND = 16;
 
     private final WebClient fortniteWebClient;
+    private final FortniteCosmeticsStreamReader cosmeticsStreamReader;
+    private final FortniteCircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<CatalogFeed, Validators> validators = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CatalogPayload fetchFeed(CatalogFeed feed, String knownHash) {
+        return fetchFeedAsync(feed, knownHash).block();
+    }
 
-    public List<ComesticDTO> getAllCosmetics() {
-        return fetchCosmetics("/cosmetics", false);
+    public Mono<CatalogPayload> fetchFeedAsync(CatalogFeed feed, String knownHash) {
+        String key = knownHash != null ? feed.getPath() + "#" + knownHash : feed.getPath();
+        return coalesce(key, () -> circuitBreaker.protect(fetch(feed, knownHash, feed == CatalogFeed.SHOP)));
     }
 
-    public List<ComesticDTO> getNewCosmetics() {
-        return fetchCosmeticsNew("/cosmetics/new", false);
+    public Mono<List<ComesticDTO>> getItemsAsync(CatalogFeed feed) {
+        return fetchFeedAsync(feed, null)
+                .map(CatalogPayload::items)
+                .doOnError(ex -> {
+                    if (ex instanceof CatalogUnavailableException) {
+                        log.debug("Circuito aberto, {} indisponível na API do Fortnite", feed.getPath());
+                    } else {
+                        log.warn("Falha ao consultar {} na API do Fortnite", feed.getPath(), ex);
+                    }
+                });
     }
 
-    public List<ComesticDTO> getShopItems() {
-        return fetchShop("/shop", true);
+    public Optional<ComesticDTO> findCosmeticById(String id) {
+        return findCosmeticByIdAsync(id).blockOptional();
     }
 
-    public ComesticDTO getCosmeticById(String id) {
+    public Mono<ComesticDTO> findCosmeticByIdAsync(String id) {
         if (id == null || id.isBlank()) {
-            return null;
+            return Mono.empty();
         }
 
+        return coalesce("/cosmetics/br/" + id, () -> circuitBreaker.protect(fetchCosmeticById(id)));
+    }
+
+    private Mono<ComesticDTO> fetchCosmeticById(String id) {
         return fortniteWebClient
                 .get()
                 .uri(uriBuilder -> uriBuilder.path("/cosmetics/br/{id}").build(id))
                 .retrieve()
                 .bodyToMono(FortniteSingleResponse.class)
                 .timeout(DEFAULT_TIMEOUT)
-                .map(FortniteSingleResponse::data)
-                .map(this::mapCosmetic)
-                .onErrorResume(ex -> {
-                    log.warn("Falha ao consultar cosmetic {} na API do Fortnite", id, ex);
-                    return Mono.empty();
-                })
-                .blockOptional()
-                .orElse(null);
+                .mapNotNull(FortniteSingleResponse::data)
+                .map(item -> FortniteCosmeticMapper.toDto(item, false))
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty())
+                .onErrorResume(WebClientResponseException.BadRequest.class, ex -> Mono.empty());
     }
 
-    private List<ComesticDTO> fetchCosmeticsNew(String path, boolean markAsSale) {
-        try {
-            return fortniteWebClient.get()
-                    .uri(path)
-                    .retrieve()
-                    .bodyToMono(FortniteNewComesticResponse.class)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .map(response -> mapCosmetics(response.getData().getItems(), markAsSale))
-                    .blockOptional()
-                    .orElse(List.of());
-        } catch (Exception ex) {
-            log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
-            return List.of();
-        }
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                existing = created;
+                call.get().subscribe(
+                        result -> {
+                            inFlight.remove(key, created);
+                            created.complete(result);
+                        },
+                        ex -> {
+                            inFlight.remove(key, created);
+                            created.completeExceptionally(ex);
+                        },
+                        () -> {
+                            inFlight.remove(key, created);
+                            created.complete(null);
+                        });
+            }
+            return Mono.fromFuture(existing, true).map(result -> (T) result);
+        });
     }
 
-    private List<ComesticDTO> fetchCosmetics(String path, boolean markAsSale) {
-        try {
-            return fortniteWebClient.get()
-                    .uri(path)
-                    .retrieve()
-                    .bodyToMono(FortniteCosmeticsResponse.class)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .map(response -> {
-                        if (response.getData() == null || response.getData().getBr() == null) {
-                            return List.<ComesticDTO>of();
+    private Mono<CatalogPayload> fetch(CatalogFeed feed, String knownHash, boolean markAsSale) {
+        Validators stored = knownHash != null ? validators.get(feed) : null;
+        Validators known = stored != null && knownHash.equals(stored.hash()) ? stored : null;
+        return fortniteWebClient.get()
+                .uri(feed.getPath())
+                .headers(headers -> {
+                    if (known != null && known.etag() != null) {
+                        headers.setIfNoneMatch(known.etag());
+                    }
+                    if (known != null && known.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, known.lastModified());
+                    }
+                })
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .timeout(DEFAULT_TIMEOUT)
+                .flatMap(response -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        if (known == null) {
+                            return Mono.error(new IllegalStateException("Resposta 304 inesperada para " + feed.getPath()));
                         }
-                        return mapCosmeticsAll(response.getData().getBr(), markAsSale);
-                    })
-                    .blockOptional()
-                    .orElse(List.of());
-        } catch (Exception ex) {
-            log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
-            return List.of();
-        }
+                        recordFetch(feed, "not_modified", 0, 0);
+                        return Mono.just(CatalogPayload.unchanged(known.hash()));
+                    }
+
+                    String etag = response.getHeaders().getETag();
+                    String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                    AtomicLong bytes = new AtomicLong();
+                    Flux<DataBuffer> body = (response.getBody() != null ? response.getBody() : Flux.<DataBuffer>empty())
+                            .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                            .timeout(DEFAULT_TIMEOUT);
+                    return Mono.fromCallable(() -> {
+                                long cpuStart = cpuTime();
+                                CatalogPayload payload;
+                                try (InputStream in = DataBufferUtils.subscriberInputStream(body, STREAM_DEMAND)) {
+                                    payload = parse(feed, in, knownHash, markAsSale);
+                                } catch (IOException ex) {
+                                    throw new UncheckedIOException("Falha ao ler " + feed.getPath() + " da API do Fortnite", ex);
+                                }
+                                validators.put(feed, new Validators(etag, lastModified, payload.hash()));
+                                recordFetch(feed, payload.unchanged() ? "unchanged" : "changed", bytes.get(), cpuTime() - cpuStart);
+                                return payload;
+                            })
+                            .subscribeOn(Schedulers.boundedElastic());
+                });
     }
 
+    private CatalogPayload parse(CatalogFeed feed, InputStream in, String knownHash, boolean markAsSale) throws IOException {
+        return switch (feed) {
+            case ALL -> parseCosmetics(in, knownHash, markAsSale);
+            case NEW -> parseCosmeticsNew(in, markAsSale);
+            case SHOP -> parseShop(in, knownHash, markAsSale);
+        };
+    }
 
+    private CatalogPayload parseCosmetics(InputStream in, String knownHash, boolean markAsSale) throws IOException {
+        List<ComesticDTO> items = new ArrayList<>();
+        String hash = cosmeticsStreamReader.read(in, knownHash, dto -> {
+            if (markAsSale) {
+                dto.setIsOnSale(Boolean.TRUE);
+            }
+            items.add(dto);
+        });
+        return hash != null && hash.equals(knownHash) ? CatalogPayload.unchanged(hash) : new CatalogPayload(items, hash);
+    }
 
-
-    private List<ComesticDTO> fetchShop(String path, boolean markAsSale) {
-        try {
-            return fortniteWebClient.get()
-                    .uri(path)
-                    .retrieve()
-                    .bodyToMono(FortniteShopResponse.class)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .map(response -> {
-                        var entries = response.getData() != null ? response.getData().getEntries() : List.<FortniteShopResponse.StoreEntry>of();
-                        return entries.stream()
-                                .map(entry -> mapCosmeticShop(entry, markAsSale))
-                                .filter(Objects::nonNull)
-                                .toList();
-                    })
-                    .blockOptional()
-                    .orElse(List.of());
-        } catch (Exception ex) {
-            log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
-            return List.of();
+    private CatalogPayload parseCosmeticsNew(InputStream in, boolean markAsSale) throws IOException {
+        FortniteNewComesticResponse response = readJson(in, FortniteNewComesticResponse.class);
+        if (response == null || response.getData() == null) {
+            return new CatalogPayload(List.of(), null);
         }
+        return new CatalogPayload(FortniteCosmeticMapper.toDtos(response.getData().getItems(), markAsSale), null);
     }
 
-    private List<ComesticDTO> mapCosmeticsAll(List<FortniteCosmeticsResponse.CosmeticItem> items, boolean markAsSale) {
-        if (items == null || items.isEmpty()) {
-            return List.of();
+    private CatalogPayload parseShop(InputStream in, String knownHash, boolean markAsSale) throws IOException {
+        FortniteShopResponse response = readJson(in, FortniteShopResponse.class);
+        if (response == null || response.getData() == null) {
+            return new CatalogPayload(List.of(), null);
         }
-
-        return items.stream()
-                .map(this::mapCosmetic)
-                .filter(Objects::nonNull)
-                .map(dto -> markAsSale ? withSaleFlag(dto) : dto)
-                .collect(Collectors.toList());
+        String hash = response.getData().getHash();
+        if (hash != null && hash.equals(knownHash)) {
+            return CatalogPayload.unchanged(hash);
+        }
+        List<FortniteShopResponse.StoreEntry> entries = response.getData().getEntries() != null
+                ? response.getData().getEntries()
+                : List.of();
+        List<ComesticDTO> items = new ArrayList<>(entries.size());
+        for (FortniteShopResponse.StoreEntry entry : entries) {
+            ComesticDTO item = mapCosmeticShop(entry, markAsSale);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return new CatalogPayload(items, hash);
     }
 
-    private ComesticDTO mapCosmetic(FortniteCosmeticsResponse.CosmeticItem item) {
-        if (item == null) {
-            return null;
+    private <T> T readJson(InputStream in, Class<T> type) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return parser.nextToken() != null ? objectMapper.readValue(parser, type) : null;
         }
-
-        ComesticDTO dto = new ComesticDTO();
-        dto.setId(item.getId());
-        dto.setName(item.getName());
-        dto.setType(item.getType() != null ? item.getType().getDisplayValue() : null);
-        dto.setRarity(item.getRarity() != null ? item.getRarity().getDisplayValue() : null);
-        dto.setImageUrl(item.getImages() != null ? item.getImages().getSmallIcon() : null);
-        return dto;
     }
 
+    private void recordFetch(CatalogFeed feed, String result, long bytes, long cpuNanos) {
+        meterRegistry.counter("fortnite.feed.fetches", "feed", feed.key(), "result", result).increment();
+        // Tamanho já descomprimido; os bytes trafegados ficam em reactor.netty.http.client.data.received.
+        DistributionSummary.builder("fortnite.feed.decoded.bytes")
+                .baseUnit("bytes")
+                .tag("feed", feed.key())
+                .register(meterRegistry)
+                .record(bytes);
+        meterRegistry.timer("fortnite.feed.cpu", "feed", feed.key(), "result", result)
+                .record(cpuNanos, TimeUnit.NANOSECONDS);
+        log.debug("{} da API do Fortnite: {} ({} bytes descomprimidos, {} ms de CPU)", feed.getPath(), result, bytes, cpuNanos / 1_000_000);
+    }
 
-
+    private static long cpuTime() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+    }
 
     private ComesticDTO mapCosmeticShop(FortniteShopResponse.StoreEntry entry, boolean markAsSale) {
         if (entry == null) {
             return null;
         }
 
+        FortniteNewComesticResponse.Item brItem = entry.getBrItems() != null && !entry.getBrItems().isEmpty()
+                ? entry.getBrItems().get(0)
+                : null;
+        if (brItem == null || brItem.getId() == null) {
+            return ComesticDTO.builder()
+                    .id(entry.getOfferId())
+                    .name(entry.getDevName())
+                    .price(entry.getFinalPrice())
+                    .isNew(entry.getInDate() != null && entry.getOutDate() == null)
+                    .isOnSale(markAsSale)
+                    .imageUrl(entry.getNewDisplayAssetPath())
+                    .build();
+        }
+
         return ComesticDTO.builder()
-                .id(entry.getOfferId())
-                .name(entry.getDevName())
+                .id(brItem.getId())
+                .name(brItem.getName() != null ? brItem.getName() : entry.getDevName())
                 .price(entry.getFinalPrice())
                 .isNew(entry.getInDate() != null && entry.getOutDate() == null)
                 .isOnSale(markAsSale)
@@ -164,129 +277,9 @@ public class FortniteApiService {
                 .build();
     }
 
-
-    private List<ComesticDTO> mapCosmetics(Map<String, List<Map<String, Object>>> itemsMap, boolean markAsSale) {
-        if (itemsMap == null || itemsMap.isEmpty()) {
-            return List.of();
-        }
-
-        return itemsMap.values().stream()
-                .flatMap(List::stream)
-                .map(this::mapCosmetic)
-                .filter(Objects::nonNull)
-                .map(dto -> markAsSale ? withSaleFlag(dto) : dto)
-                .collect(Collectors.toList());
-    }
-
-
-
-    private ComesticDTO mapCosmetic(Map<String, Object> item) {
-        if (item == null || item.isEmpty()) {
-            return null;
-        }
-
-        String id = Objects.toString(item.get("id"), null);
-        String name = Objects.toString(item.get("name"), null);
-
-        String type = extractValue(item.get("type"));
-        String rarity = extractValue(item.get("rarity"));
-        String imageUrl = extractImageUrl(item.get("images"));
-
-        Integer price = extractPrice(item.get("price"), item.get("shopHistory"));
-        Boolean isNew = extractBoolean(item.get("new"));
-        Boolean isOnSale = item.containsKey("offerTag") && item.get("offerTag") != null ? Boolean.TRUE : extractBoolean(item.get("isOnSale"));
-
-        return ComesticDTO.builder()
-                .id(id)
-                .name(name)
-                .type(type)
-                .rarity(rarity)
-                .imageUrl(imageUrl)
-                .price(price)
-                .isNew(isNew)
-                .isOnSale(isOnSale != null && isOnSale)
-                .build();
-    }
-
-    private String extractValue(Object raw) {
-        if (raw instanceof Map<?, ?> map) {
-            Object value = map.get("value");
-            if (value != null) {
-                return Objects.toString(value, null);
-            }
-        }
-        return raw != null ? raw.toString() : null;
-    }
-
-    private String extractImageUrl(Object imagesObj) {
-        if (imagesObj instanceof Map<?, ?> imgMap) {
-            Object icon = imgMap.get("icon");
-            if (icon != null) {
-                return icon.toString();
-            }
-            Object smallIcon = imgMap.get("smallIcon");
-            if (smallIcon != null) {
-                return smallIcon.toString();
-            }
-        }
-        return null;
-    }
-
-    private Integer extractPrice(Object priceObj, Object shopHistory) {
-        if (priceObj instanceof Number number) {
-            return number.intValue();
-        }
-
-        if (priceObj instanceof Map<?, ?> priceMap) {
-            Object finalPrice = priceMap.get("finalPrice");
-            if (finalPrice instanceof Number number) {
-                return number.intValue();
-            }
-            Object regularPrice = priceMap.get("regularPrice");
-            if (regularPrice instanceof Number number) {
-                return number.intValue();
-            }
-        }
-
-        if (shopHistory instanceof List<?> history && !history.isEmpty()) {
-            Object last = history.get(history.size() - 1);
-            if (last instanceof Number number) {
-                return number.intValue();
-            }
-        }
-
-        return null;
-    }
-
-    private Boolean extractBoolean(Object raw) {
-        if (raw instanceof Boolean bool) {
-            return bool;
-        }
-        if (raw == null) {
-            return null;
-        }
-        if ("true".equalsIgnoreCase(raw.toString())) {
-            return Boolean.TRUE;
-        }
-        if ("false".equalsIgnoreCase(raw.toString())) {
-            return Boolean.FALSE;
-        }
-        return null;
-    }
-
-    private ComesticDTO withSaleFlag(ComesticDTO dto) {
-        return ComesticDTO.builder()
-                .id(dto.getId())
-                .name(dto.getName())
-                .type(dto.getType())
-                .rarity(dto.getRarity())
-                .imageUrl(dto.getImageUrl())
-                .price(dto.getPrice())
-                .isNew(dto.getIsNew())
-                .isOnSale(Boolean.TRUE)
-                .build();
+    private record Validators(String etag, String lastModified, String hash) {
     }
 
-    private record FortniteSingleResponse(Map<String, Object> data) {
+    private record FortniteSingleResponse(FortniteNewComesticResponse.Item data) {
     }
 }
@@ -0,0 +1,123 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class FortniteCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int failures;
+    private int probes;
+    private long openedAt;
+
+    public FortniteCircuitBreaker(@Value("${fortnite.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                  @Value("${fortnite.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+                                  @Value("${fortnite.circuit-breaker.half-open-calls:1}") int halfOpenCalls) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(new CatalogUnavailableException("API do Fortnite indisponível no momento, tente novamente mais tarde"));
+            }
+            return call
+                    .doOnSuccess(result -> onSuccess())
+                    .doOnError(this::onFailure)
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAcquire() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.nanoTime() - openedAt < openNanos) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    probes = 0;
+                    log.info("Circuito da API do Fortnite semiaberto, testando a conexão");
+                    // fall through
+                default:
+                    if (probes >= halfOpenCalls) {
+                        return false;
+                    }
+                    probes++;
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            if (state != State.CLOSED) {
+                log.info("Circuito da API do Fortnite fechado");
+            }
+            state = State.CLOSED;
+            failures = 0;
+            probes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure(Throwable ex) {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+                if (state != State.OPEN) {
+                    log.warn("Circuito da API do Fortnite aberto após {} falhas: {}", Math.max(failures, 1), ex.toString());
+                }
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+                failures = 0;
+                probes = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onCancel() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && probes > 0) {
+                probes--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+
+@Service
+@Slf4j
+public class ShopRotationScheduler {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final boolean enabled;
+    private final LocalTime rotationTime;
+    private final Duration lead;
+    private final Duration window;
+    private final Duration fastInterval;
+    private final Duration idleInterval;
+    private final Timer rotationLag;
+    private volatile Instant lastHashChange;
+    private volatile ScheduledFuture<?> polling;
+    private volatile boolean stopped;
+
+    public ShopRotationScheduler(CatalogSnapshotService catalogSnapshotService,
+                                 TaskScheduler taskScheduler,
+                                 MeterRegistry meterRegistry,
+                                 Clock clock,
+                                 @Value("${catalog.shop-rotation.enabled:true}") boolean enabled,
+                                 @Value("${catalog.shop-rotation.time:00:00}") String rotationTime,
+                                 @Value("${catalog.shop-rotation.lead:PT1M}") Duration lead,
+                                 @Value("${catalog.shop-rotation.window:PT15M}") Duration window,
+                                 @Value("${catalog.shop-rotation.fast-interval:PT10S}") Duration fastInterval,
+                                 @Value("${catalog.refresh-interval:PT10M}") Duration idleInterval) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.rotationTime = LocalTime.parse(rotationTime);
+        this.lead = lead;
+        this.window = window;
+        this.fastInterval = fastInterval;
+        this.idleInterval = idleInterval;
+        this.rotationLag = Timer.builder("catalog.shop.rotation.lag")
+                .register(meterRegistry);
+    }
+
+    private boolean isActive() {
+        return enabled && catalogSnapshotService.isEnabled(CatalogFeed.SHOP);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!isActive() || polling != null) {
+            return;
+        }
+        schedule(nextPoll(clock.instant()));
+        log.info("Atualização da loja agendada em torno da rotação diária às {} UTC", rotationTime);
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (event.feed() != CatalogFeed.SHOP) {
+            return;
+        }
+        Instant changedAt = event.current().loadedAt();
+        if (event.previous() == null) {
+            if (lastHashChange == null) {
+                lastHashChange = changedAt;
+            }
+            return;
+        }
+        if (Objects.equals(event.previous().hash(), event.current().hash())) {
+            return;
+        }
+
+        Instant rotation = previousRotation(changedAt);
+        if (awaiting(rotation, changedAt)) {
+            rotationLag.record(Duration.between(rotation, changedAt));
+            log.info("Nova loja {} disponível {} s após a rotação", event.current().hash(),
+                    Duration.between(rotation, changedAt).toSeconds());
+        }
+        lastHashChange = changedAt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        ScheduledFuture<?> current = polling;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    Instant nextPoll(Instant completedAt) {
+        if (!completedAt.isBefore(nextRotation(completedAt).minus(lead))
+                || awaiting(previousRotation(completedAt), completedAt)) {
+            return completedAt.plus(fastInterval);
+        }
+
+        Instant idle = completedAt.plus(idleInterval);
+        Instant fastStart = nextRotation(completedAt).minus(lead);
+        return idle.isBefore(fastStart) ? idle : fastStart;
+    }
+
+    private void poll() {
+        try {
+            catalogSnapshotService.refresh(CatalogFeed.SHOP)
+                    .whenComplete((snapshot, ex) -> {
+                        if (ex != null) {
+                            log.warn("Falha ao consultar a loja durante a rotação", ex);
+                        }
+                        schedule(nextPoll(clock.instant()));
+                    });
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao agendar a consulta da loja", ex);
+            schedule(nextPoll(clock.instant()));
+        }
+    }
+
+    private void schedule(Instant at) {
+        if (!stopped) {
+            polling = taskScheduler.schedule(this::poll, at);
+        }
+    }
+
+    private boolean awaiting(Instant rotation, Instant now) {
+        Instant changed = lastHashChange;
+        return (changed == null || changed.isBefore(rotation)) && Duration.between(rotation, now).compareTo(window) < 0;
+    }
+
+    private Instant previousRotation(Instant instant) {
+        ZonedDateTime rotation = instant.atZone(ZoneOffset.UTC).with(rotationTime);
+        return rotation.toInstant().isAfter(instant) ? rotation.minusDays(1).toInstant() : rotation.toInstant();
+    }
+
+    private Instant nextRotation(Instant instant) {
+        return previousRotation(instant).plus(Duration.ofDays(1));
+    }
+}
@@ -0,0 +1,248 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ShopDiffDTO;
+import com.barbosa.desafio_tech.domain.dto.ShopRepriceDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class ShopStreamService {
+
+    private static final String DIFF_EVENT = "shop-diff";
+
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final int maxSubscribers;
+    private final int maxPendingEvents;
+    private final long sendTimeoutNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+    private final ExecutorService sendExecutor;
+
+    public ShopStreamService(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${catalog.shop-stream.timeout:PT30M}") Duration timeout,
+                             @Value("${catalog.shop-stream.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${catalog.shop-stream.max-pending-events:4}") int maxPendingEvents,
+                             @Value("${catalog.shop-stream.send-timeout:PT10S}") Duration sendTimeout,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                             @Value("${catalog.shop-stream.send-threads:32}") int sendThreads) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dropped = meterRegistry.counter("catalog.shop.stream.dropped");
+        Gauge.builder("catalog.shop.stream.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+        if (virtualThreads) {
+            this.sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shop-stream-", 1).factory());
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            this.sendExecutor = Executors.newFixedThreadPool(Math.max(1, sendThreads), runnable -> {
+                Thread thread = new Thread(runnable, "shop-stream-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public Optional<SseEmitter> subscribe() {
+        return subscribe(new SseEmitter(timeout.toMillis()));
+    }
+
+    Optional<SseEmitter> subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("Limite de {} assinantes do stream da loja atingido", maxSubscribers);
+            return Optional.empty();
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(maxPendingEvents));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        return Optional.of(emitter);
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot previous = event.previous();
+        CatalogSnapshot current = event.current();
+        if (event.feed() != CatalogFeed.SHOP || previous == null || subscribers.isEmpty()
+                || Objects.equals(previous.hash(), current.hash())) {
+            return;
+        }
+
+        ShopDiffDTO diff = diff(previous, current);
+        if (diff.getAdded().isEmpty() && diff.getRemoved().isEmpty() && diff.getRepriced().isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(diff);
+        } catch (JsonProcessingException ex) {
+            log.warn("Falha ao serializar a diferença da loja {}", current.hash(), ex);
+            return;
+        }
+        log.info("Loja rotacionada ({} adicionados, {} removidos, {} com preço alterado), notificando {} assinantes",
+                diff.getAdded().size(), diff.getRemoved().size(), diff.getRepriced().size(), subscribers.size());
+        broadcast(SseEmitter.event()
+                .name(DIFF_EVENT)
+                .id(current.hash())
+                .data(json, MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.shop-stream.heartbeat:PT30S}", initialDelayString = "${catalog.shop-stream.heartbeat:PT30S}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            broadcast(SseEmitter.event().comment("heartbeat").build());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter().complete();
+        }
+        subscribers.clear();
+    }
+
+    private ShopDiffDTO diff(CatalogSnapshot previous, CatalogSnapshot current) {
+        List<ComesticDTO> added = new ArrayList<>();
+        List<ShopRepriceDTO> repriced = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ComesticDTO item : current.items()) {
+            if (item.getId() == null || !seen.add(item.getId())) {
+                continue;
+            }
+            ComesticDTO before = previous.index().byId(item.getId());
+            if (before == null) {
+                added.add(item);
+            } else if (!Objects.equals(before.getPrice(), item.getPrice())) {
+                repriced.add(ShopRepriceDTO.builder()
+                        .id(item.getId())
+                        .previousPrice(before.getPrice())
+                        .price(item.getPrice())
+                        .build());
+            }
+        }
+
+        Set<String> removed = new LinkedHashSet<>();
+        for (ComesticDTO item : previous.items()) {
+            if (item.getId() != null && current.index().byId(item.getId()) == null) {
+                removed.add(item.getId());
+            }
+        }
+
+        return ShopDiffDTO.builder()
+                .hash(current.hash())
+                .previousHash(previous.hash())
+                .catalogVersion(current.version())
+                .added(added)
+                .removed(List.copyOf(removed))
+                .repriced(repriced)
+                .build();
+    }
+
+    private void broadcast(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince().get();
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                drop(subscriber);
+            } else if (!subscriber.pending().offer(event)) {
+                drop(subscriber);
+            } else if (subscriber.draining().compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(() -> drain(subscriber));
+                } catch (RejectedExecutionException ex) {
+                    subscriber.draining().set(false);
+                }
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            while ((event = subscriber.pending().poll()) != null) {
+                subscriber.sendingSince().set(System.nanoTime());
+                try {
+                    subscriber.emitter().send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    subscribers.remove(subscriber);
+                    subscriber.pending().clear();
+                    log.debug("Assinante do stream da loja desconectado: {}", ex.getMessage());
+                    return;
+                } finally {
+                    subscriber.sendingSince().set(0);
+                }
+            }
+            subscriber.draining().set(false);
+        } while (!subscriber.pending().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            dropped.increment();
+            subscriber.pending().clear();
+            try {
+                sendExecutor.execute(() -> subscriber.emitter().complete());
+            } catch (RejectedExecutionException ex) {
+                log.debug("Stream da loja encerrado antes de descartar o assinante");
+            }
+            log.debug("Assinante lento do stream da loja descartado");
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending,
+                              AtomicBoolean draining, AtomicLong sendingSince) {
+
+        Subscriber(SseEmitter emitter, Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending) {
+            this(emitter, pending, new AtomicBoolean(), new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+final class BenchmarkSupport {
+
+    static final String ENABLED_PROPERTY = "benchmarks";
+
+    private static final String[] TYPES = {"Outfit", "Back Bling", "Pickaxe", "Glider", "Emote", "Wrap", "Contrail", "Loading Screen", "Spray", "Music"};
+    private static final String[] RARITIES = {"Common", "Uncommon", "Rare", "Epic", "Legendary", "Icon Series", "Marvel Series", "DC Series"};
+    private static final String[] WORDS = {"Renegade", "Raider", "Skull", "Trooper", "Black", "Knight", "Aura", "Midas", "Peely", "Drift", "Ghost", "Shadow", "Galaxy", "Crystal", "Fishstick"};
+
+    private BenchmarkSupport() {
+    }
+
+    static byte[] cosmeticsPayload(int items) {
+        StringBuilder json = new StringBuilder(items * 700);
+        json.append("{\"status\":200,\"data\":{\"build\":\"++Fortnite+Release-31.00\",\"hash\":\"bench-")
+                .append(items)
+                .append("\",\"lastUpdate\":\"2024-06-01T00:00:00Z\",\"br\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendItem(json, i);
+        }
+        json.append("]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] newCosmeticsPayload(int items) {
+        StringBuilder json = new StringBuilder(items * 700);
+        json.append("{\"status\":200,\"data\":{\"date\":\"2024-06-01T00:00:00Z\",\"build\":\"++Fortnite+Release-31.00\",")
+                .append("\"previousBuild\":\"++Fortnite+Release-30.40\",\"items\":{\"br\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendItem(json, i);
+        }
+        json.append("],\"tracks\":[],\"instruments\":[],\"cars\":[],\"lego\":[]}}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static List<ComesticDTO> catalogItems(int items) {
+        List<ComesticDTO> catalog = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            String id = "CID_" + i + "_Athena_Commando";
+            catalog.add(ComesticDTO.builder()
+                    .id(id)
+                    .name(itemName(i))
+                    .type(itemType(i))
+                    .rarity(itemRarity(i))
+                    .imageUrl("https://fortnite-api.com/images/cosmetics/br/" + id + "/smallicon.png")
+                    .price(i % 7 == 0 ? null : 200 + (i % 12) * 100)
+                    .isNew(i % 50 == 0)
+                    .isOnSale(i % 40 == 0)
+                    .build());
+        }
+        return catalog;
+    }
+
+    static <T> double nanosPerOp(int iterations, Supplier<T> operation) {
+        Object sink = null;
+        for (int i = 0; i < iterations / 5 + 1; i++) {
+            sink = operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            throw new IllegalStateException("benchmark operation returned null");
+        }
+        return (double) elapsed / iterations;
+    }
+
+    static String itemName(int i) {
+        return WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+    }
+
+    static String itemType(int i) {
+        return TYPES[i % TYPES.length];
+    }
+
+    static String itemRarity(int i) {
+        return RARITIES[(i / 3) % RARITIES.length];
+    }
+
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static void appendItem(StringBuilder json, int i) {
+        String id = "CID_" + i + "_Athena_Commando";
+        String type = itemType(i);
+        String rarity = itemRarity(i);
+        json.append("{\"id\":\"").append(id)
+                .append("\",\"name\":\"").append(itemName(i))
+                .append("\",\"description\":\"Synthetic cosmetic used to size the catalog payload ").append(i)
+                .append("\",\"type\":{\"value\":\"").append(type.toLowerCase(Locale.ROOT))
+                .append("\",\"displayValue\":\"").append(type)
+                .append("\",\"backendValue\":\"Athena").append(type.replace(" ", ""))
+                .append("\"},\"rarity\":{\"value\":\"").append(rarity.toLowerCase(Locale.ROOT))
+                .append("\",\"displayValue\":\"").append(rarity)
+                .append("\",\"backendValue\":\"EFortRarity::").append(rarity.replace(" ", ""))
+                .append("\"},\"introduction\":{\"chapter\":\"5\",\"season\":\"3\",\"text\":\"Introduced in Chapter 5, Season 3.\",\"backendValue\":30},")
+                .append("\"images\":{\"smallIcon\":\"https://fortnite-api.com/images/cosmetics/br/").append(id)
+                .append("/smallicon.png\",\"icon\":\"https://fortnite-api.com/images/cosmetics/br/").append(id)
+                .append("/icon.png\"},\"variants\":[{\"channel\":\"Material\",\"type\":\"STYLE\",\"options\":[{\"tag\":\"Mat1\",\"name\":\"Default\"},{\"tag\":\"Mat2\",\"name\":\"Alt\"}]}],")
+                .append("\"gameplayTags\":[\"Cosmetics.Source.ItemShop\",\"Cosmetics.Set.Bench\"],")
+                .append("\"path\":\"Athena/Items/Cosmetics/Characters/").append(id)
+                .append("\",\"added\":\"2024-06-01T00:00:00Z\",\"shopHistory\":[\"2024-06-01T00:00:00Z\",\"2024-07-01T00:00:00Z\"]}");
+    }
+}
@@ -0,0 +1,76 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogIndex;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSortKey;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class CatalogFilterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Test
+    void compareLinearScanAndBitmapIndex() {
+        for (int size : new int[]{10_000, 40_000, 80_000}) {
+            List<ComesticDTO> catalog = BenchmarkSupport.catalogItems(size);
+            CatalogIndex index = CatalogIndex.build(catalog);
+            ComesticFilterDTO selective = new ComesticFilterDTO(null, "Outfit", "Legendary", null, null);
+
+            assertThat(indexed(index, selective)).isEqualTo(linear(catalog, selective));
+
+            double linear = BenchmarkSupport.nanosPerOp(200, () -> linear(catalog, selective));
+            double indexed = BenchmarkSupport.nanosPerOp(2_000, () -> indexed(index, selective));
+            System.out.printf("items=%d linear=%.1f us/op bitmap=%.1f us/op%n", size, linear / 1_000, indexed / 1_000);
+        }
+    }
+
+    @Test
+    void compareNameScanAndTrigramIndex() {
+        for (int size : new int[]{10_000, 40_000, 80_000}) {
+            List<ComesticDTO> catalog = BenchmarkSupport.catalogItems(size);
+            CatalogIndex index = CatalogIndex.build(catalog);
+            ComesticFilterDTO byName = new ComesticFilterDTO("Midas Ghost 12", null, null, null, null);
+
+            assertThat(indexed(index, byName)).isEqualTo(linearByName(catalog, byName.getName()));
+
+            double linear = BenchmarkSupport.nanosPerOp(200, () -> linearByName(catalog, byName.getName()));
+            double indexed = BenchmarkSupport.nanosPerOp(2_000, () -> indexed(index, byName));
+            System.out.printf("items=%d name scan=%.1f us/op trigram=%.1f us/op%n", size, linear / 1_000, indexed / 1_000);
+        }
+    }
+
+    private List<ComesticDTO> linearByName(List<ComesticDTO> catalog, String token) {
+        return catalog.stream()
+                .filter(c -> c.getName() != null && c.getName().toLowerCase(Locale.ROOT).contains(token.toLowerCase(Locale.ROOT)))
+                .sorted(Comparator.comparing(ComesticDTO::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+
+    private List<ComesticDTO> linear(List<ComesticDTO> catalog, ComesticFilterDTO filter) {
+        return catalog.stream()
+                .filter(c -> filter.getType() == null || Objects.equals(c.getType(), filter.getType()))
+                .filter(c -> filter.getRarity() == null || Objects.equals(c.getRarity(), filter.getRarity()))
+                .filter(c -> filter.getIsNew() == null || Objects.equals(c.getIsNew(), filter.getIsNew()))
+                .filter(c -> filter.getIsOnSale() == null || Objects.equals(c.getIsOnSale(), filter.getIsOnSale()))
+                .sorted(Comparator.comparing(ComesticDTO::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+
+    private List<ComesticDTO> indexed(CatalogIndex index, ComesticFilterDTO filter) {
+        BitSet matches = index.matching(filter);
+        return index.page(matches, CatalogSortKey.NAME, false, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,54 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogColumns;
+import com.barbosa.desafio_tech.domain.catalog.CatalogIndex;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class CatalogFootprintBenchmark {
+
+    private static final int ITEMS = 25_000;
+
+    @Test
+    void compareRetainedHeapOfRowObjectsAndColumns() throws Exception {
+        byte[] payload = BenchmarkSupport.cosmeticsPayload(ITEMS);
+        FortniteCosmeticsStreamReader reader = new FortniteCosmeticsStreamReader(new ObjectMapper());
+
+        long baseline = BenchmarkSupport.usedHeapAfterGc();
+        List<ComesticDTO> rows = parse(reader, payload);
+        long rowsRetained = BenchmarkSupport.usedHeapAfterGc() - baseline;
+        rows = null;
+
+        baseline = BenchmarkSupport.usedHeapAfterGc();
+        CatalogColumns columns = CatalogColumns.of(parse(reader, payload));
+        long columnsRetained = BenchmarkSupport.usedHeapAfterGc() - baseline;
+
+        baseline = BenchmarkSupport.usedHeapAfterGc();
+        CatalogIndex index = CatalogIndex.build(parse(reader, payload));
+        long indexRetained = BenchmarkSupport.usedHeapAfterGc() - baseline;
+
+        System.out.printf("items=%d%n", ITEMS);
+        System.out.printf("row objects (List<ComesticDTO>): %s%n", BenchmarkSupport.megabytes(rowsRetained));
+        System.out.printf("columns (CatalogColumns)       : %s%n", BenchmarkSupport.megabytes(columnsRetained));
+        System.out.printf("full index (columns + orders, bitmaps, trigrams): %s%n", BenchmarkSupport.megabytes(indexRetained));
+
+        assertThat(columns.size()).isEqualTo(ITEMS);
+        assertThat(index.size()).isEqualTo(ITEMS);
+    }
+
+    private List<ComesticDTO> parse(FortniteCosmeticsStreamReader reader, byte[] payload) throws Exception {
+        List<ComesticDTO> items = new ArrayList<>(ITEMS);
+        reader.read(new ByteArrayInputStream(payload), items::add);
+        return items;
+    }
+}
@@ -0,0 +1,79 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogIndex;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshotFile;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class CatalogWarmStartBenchmark {
+
+    private static final int ITEMS = 25_000;
+    private static final int ROUNDS = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compareUpstreamParseAndSnapshotStartup() throws Exception {
+        byte[] payload = BenchmarkSupport.cosmeticsPayload(ITEMS);
+        FortniteCosmeticsStreamReader reader = new FortniteCosmeticsStreamReader(new ObjectMapper());
+        Path file = directory.resolve("all.bin");
+        CatalogSnapshotFile.write(file, new CatalogPayload(BenchmarkSupport.catalogItems(ITEMS), "bench"));
+
+        for (int i = 0; i < 3; i++) {
+            coldStart(reader, payload);
+            warmStart(file);
+        }
+
+        long cold = Long.MAX_VALUE;
+        long warm = Long.MAX_VALUE;
+        long decode = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            CatalogIndex parsed = coldStart(reader, payload);
+            cold = Math.min(cold, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            CatalogIndex restored = warmStart(file);
+            warm = Math.min(warm, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int decoded = CatalogSnapshotFile.read(file).items().size();
+            decode = Math.min(decode, System.nanoTime() - start);
+
+            assertThat(parsed.size()).isEqualTo(ITEMS);
+            assertThat(restored.size()).isEqualTo(ITEMS);
+            assertThat(decoded).isEqualTo(ITEMS);
+        }
+
+        System.out.printf("items=%d json=%s snapshot=%s%n", ITEMS,
+                BenchmarkSupport.megabytes(payload.length), BenchmarkSupport.megabytes(Files.size(file)));
+        System.out.printf("cold start (parse upstream json + index): %.1f ms%n", cold / 1e6);
+        System.out.printf("warm start (binary snapshot + index)    : %.1f ms%n", warm / 1e6);
+        System.out.printf("snapshot decode only                    : %.1f ms%n", decode / 1e6);
+    }
+
+    private CatalogIndex coldStart(FortniteCosmeticsStreamReader reader, byte[] payload) throws Exception {
+        List<ComesticDTO> items = new ArrayList<>(ITEMS);
+        reader.read(new ByteArrayInputStream(payload), items::add);
+        return CatalogIndex.build(items);
+    }
+
+    private CatalogIndex warmStart(Path file) throws Exception {
+        return CatalogIndex.build(CatalogSnapshotFile.read(file).items());
+    }
+}
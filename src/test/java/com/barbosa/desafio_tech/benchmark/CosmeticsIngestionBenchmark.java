@@ -0,0 +1,83 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsResponse;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class CosmeticsIngestionBenchmark {
+
+    private static final int ITEMS = 25_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void compareBufferedAndStreamingIngestion() throws Exception {
+        byte[] payload = BenchmarkSupport.cosmeticsPayload(ITEMS);
+        FortniteCosmeticsStreamReader reader = new FortniteCosmeticsStreamReader(objectMapper);
+
+        for (int i = 0; i < 3; i++) {
+            buffered(payload);
+            streaming(reader, payload);
+        }
+
+        long baseline = BenchmarkSupport.usedHeapAfterGc();
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        FortniteCosmeticsResponse response = objectMapper.readValue(payload, FortniteCosmeticsResponse.class);
+        long bufferedGraph = BenchmarkSupport.usedHeapAfterGc() - baseline;
+        List<ComesticDTO> bufferedItems = toDtos(response);
+        long bufferedPeak = BenchmarkSupport.usedHeapAfterGc() - baseline;
+        long bufferedAllocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+        response = null;
+        bufferedItems = null;
+
+        baseline = BenchmarkSupport.usedHeapAfterGc();
+        allocatedBefore = BenchmarkSupport.allocatedBytes();
+        List<ComesticDTO> streamedItems = streaming(reader, payload);
+        long streamingPeak = BenchmarkSupport.usedHeapAfterGc() - baseline;
+        long streamingAllocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+
+        System.out.printf("payload=%s items=%d%n", BenchmarkSupport.megabytes(payload.length), ITEMS);
+        System.out.printf("buffered : response graph=%s, graph+dtos=%s, allocated=%s%n",
+                BenchmarkSupport.megabytes(bufferedGraph), BenchmarkSupport.megabytes(bufferedPeak), BenchmarkSupport.megabytes(bufferedAllocated));
+        System.out.printf("streaming: dtos=%s, allocated=%s%n",
+                BenchmarkSupport.megabytes(streamingPeak), BenchmarkSupport.megabytes(streamingAllocated));
+
+        assertThat(streamedItems).hasSize(ITEMS);
+    }
+
+    private List<ComesticDTO> buffered(byte[] payload) throws Exception {
+        return toDtos(objectMapper.readValue(payload, FortniteCosmeticsResponse.class));
+    }
+
+    private List<ComesticDTO> streaming(FortniteCosmeticsStreamReader reader, byte[] payload) throws Exception {
+        List<ComesticDTO> items = new ArrayList<>(ITEMS);
+        reader.read(new ByteArrayInputStream(payload), items::add);
+        return items;
+    }
+
+    private List<ComesticDTO> toDtos(FortniteCosmeticsResponse response) {
+        List<ComesticDTO> items = new ArrayList<>(response.getData().getBr().size());
+        for (FortniteCosmeticsResponse.CosmeticItem item : response.getData().getBr()) {
+            ComesticDTO dto = new ComesticDTO();
+            dto.setId(item.getId());
+            dto.setName(item.getName());
+            dto.setType(item.getType() != null ? item.getType().getDisplayValue() : null);
+            dto.setRarity(item.getRarity() != null ? item.getRarity().getDisplayValue() : null);
+            dto.setImageUrl(item.getImages() != null ? item.getImages().getSmallIcon() : null);
+            items.add(dto);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,134 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticMapper;
+import com.barbosa.desafio_tech.domain.response.FortniteNewComesticResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class NewCosmeticsMappingBenchmark {
+
+    private static final int ITEMS = 2_000;
+    private static final int ITERATIONS = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void compareGenericMapAndTypedMapping() {
+        byte[] payload = BenchmarkSupport.newCosmeticsPayload(ITEMS);
+
+        assertThat(typed(payload)).isEqualTo(generic(payload));
+
+        double genericNanos = BenchmarkSupport.nanosPerOp(ITERATIONS, () -> generic(payload));
+        double typedNanos = BenchmarkSupport.nanosPerOp(ITERATIONS, () -> typed(payload));
+
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        generic(payload);
+        long genericAllocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+        allocatedBefore = BenchmarkSupport.allocatedBytes();
+        typed(payload);
+        long typedAllocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+
+        System.out.printf("payload=%s items=%d%n", BenchmarkSupport.megabytes(payload.length), ITEMS);
+        System.out.printf("generic map: %8.0f payloads/s, allocated=%s%n", 1e9 / genericNanos, BenchmarkSupport.megabytes(genericAllocated));
+        System.out.printf("typed      : %8.0f payloads/s, allocated=%s%n", 1e9 / typedNanos, BenchmarkSupport.megabytes(typedAllocated));
+    }
+
+    private List<ComesticDTO> typed(byte[] payload) {
+        try {
+            FortniteNewComesticResponse response = objectMapper.readValue(payload, FortniteNewComesticResponse.class);
+            return FortniteCosmeticMapper.toDtos(response.getData().getItems(), true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private List<ComesticDTO> generic(byte[] payload) {
+        try {
+            LegacyResponse response = objectMapper.readValue(payload, LegacyResponse.class);
+            return response.getData().getItems().values().stream()
+                    .flatMap(List::stream)
+                    .map(LegacyMapping::mapCosmetic)
+                    .filter(Objects::nonNull)
+                    .map(LegacyMapping::withSaleFlag)
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Data
+    static class LegacyResponse {
+        private LegacyData data;
+    }
+
+    @Data
+    static class LegacyData {
+        private Map<String, List<Map<String, Object>>> items;
+    }
+
+    private static final class LegacyMapping {
+
+        static ComesticDTO mapCosmetic(Map<String, Object> item) {
+            if (item == null || item.isEmpty()) {
+                return null;
+            }
+            Boolean isOnSale = item.get("offerTag") != null ? Boolean.TRUE : booleanValue(item.get("isOnSale"));
+            return ComesticDTO.builder()
+                    .id(Objects.toString(item.get("id"), null))
+                    .name(Objects.toString(item.get("name"), null))
+                    .type(value(item.get("type")))
+                    .rarity(value(item.get("rarity")))
+                    .imageUrl(imageUrl(item.get("images")))
+                    .price(item.get("price") instanceof Number number ? number.intValue() : null)
+                    .isNew(booleanValue(item.get("new")))
+                    .isOnSale(isOnSale != null && isOnSale)
+                    .build();
+        }
+
+        static ComesticDTO withSaleFlag(ComesticDTO dto) {
+            return ComesticDTO.builder()
+                    .id(dto.getId())
+                    .name(dto.getName())
+                    .type(dto.getType())
+                    .rarity(dto.getRarity())
+                    .imageUrl(dto.getImageUrl())
+                    .price(dto.getPrice())
+                    .isNew(dto.getIsNew())
+                    .isOnSale(Boolean.TRUE)
+                    .build();
+        }
+
+        private static String value(Object raw) {
+            if (raw instanceof Map<?, ?> map && map.get("value") != null) {
+                return Objects.toString(map.get("value"), null);
+            }
+            return raw != null ? raw.toString() : null;
+        }
+
+        private static String imageUrl(Object raw) {
+            if (raw instanceof Map<?, ?> images) {
+                Object icon = images.get("icon") != null ? images.get("icon") : images.get("smallIcon");
+                return icon != null ? icon.toString() : null;
+            }
+            return null;
+        }
+
+        private static Boolean booleanValue(Object raw) {
+            return raw instanceof Boolean bool ? bool : raw != null ? Boolean.valueOf(raw.toString()) : null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
+import com.barbosa.desafio_tech.domain.service.FortniteApiService;
+import com.barbosa.desafio_tech.domain.service.FortniteCircuitBreaker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class ReactiveThroughputBenchmark {
+
+    private static final int REQUESTS = 1_500;
+    private static final int SERVLET_THREADS = 32;
+    private static final int REACTIVE_IN_FLIGHT = 512;
+    private static final long UPSTREAM_DELAY_MS = 200;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ConnectionProvider connections;
+    private FortniteApiService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverThreads = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/cosmetics/br/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            String id = exchange.getRequestURI().getPath().substring("/cosmetics/br/".length());
+            byte[] body = ("{\"status\":200,\"data\":{\"id\":\"" + id + "\",\"name\":\"" + id + "\"}}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+
+        connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(REACTIVE_IN_FLIGHT)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        service = new FortniteApiService(webClient, new FortniteCosmeticsStreamReader(objectMapper),
+                new FortniteCircuitBreaker(5, Duration.ofSeconds(30), 1), objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connections.dispose();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void compareBlockingAndReactiveThroughputAgainstSlowUpstream() throws Exception {
+        blocking(SERVLET_THREADS * 2);
+        reactive(REACTIVE_IN_FLIGHT);
+
+        long start = System.nanoTime();
+        int blockingOk = blocking(REQUESTS);
+        double blockingSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        int reactiveOk = reactive(REQUESTS);
+        double reactiveSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("upstream delay=%d ms, requests=%d%n", UPSTREAM_DELAY_MS, REQUESTS);
+        System.out.printf("blocking : %d threads, %.0f req/s, %d/%d ok%n", SERVLET_THREADS, blockingOk / blockingSeconds, blockingOk, REQUESTS);
+        System.out.printf("reactive : %d in flight, %.0f req/s, %d/%d ok%n", REACTIVE_IN_FLIGHT, reactiveOk / reactiveSeconds, reactiveOk, REQUESTS);
+    }
+
+    private int blocking(int requests) throws Exception {
+        ExecutorService servlet = Executors.newFixedThreadPool(SERVLET_THREADS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                results.add(servlet.submit(() -> found(nextId())));
+            }
+            int ok = 0;
+            for (Future<Boolean> result : results) {
+                ok += result.get() ? 1 : 0;
+            }
+            return ok;
+        } finally {
+            servlet.shutdownNow();
+        }
+    }
+
+    private int reactive(int requests) {
+        Long ok = Flux.range(0, requests)
+                .flatMap(i -> service.findCosmeticByIdAsync(nextId()).onErrorResume(ex -> Mono.empty()), REACTIVE_IN_FLIGHT)
+                .count()
+                .block();
+        return ok != null ? ok.intValue() : 0;
+    }
+
+    private String nextId() {
+        return "CID_" + sequence.incrementAndGet();
+    }
+
+    private boolean found(String id) {
+        try {
+            return service.findCosmeticById(id).isPresent();
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+}
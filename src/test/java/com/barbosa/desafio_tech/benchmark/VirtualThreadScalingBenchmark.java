@@ -0,0 +1,172 @@
+package com.barbosa.desafio_tech.benchmark;
+
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
+import com.barbosa.desafio_tech.domain.service.FortniteApiService;
+import com.barbosa.desafio_tech.domain.service.FortniteCircuitBreaker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+class VirtualThreadScalingBenchmark {
+
+    private static final int[] CONCURRENCY = {100, 400, 1_600};
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long UPSTREAM_DELAY_MS = 200;
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.barbosa.desafio_tech.";
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ConnectionProvider connections;
+    private FortniteApiService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverThreads = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.createContext("/cosmetics/br/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            String id = exchange.getRequestURI().getPath().substring("/cosmetics/br/".length());
+            byte[] body = ("{\"status\":200,\"data\":{\"id\":\"" + id + "\",\"name\":\"" + id + "\"}}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+
+        connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(CONCURRENCY[CONCURRENCY.length - 1])
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        service = new FortniteApiService(webClient, new FortniteCosmeticsStreamReader(objectMapper),
+                new FortniteCircuitBreaker(5, Duration.ofSeconds(30), 1), objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connections.dispose();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void compareConcurrencyScalingOfPlatformAndVirtualThreads() throws Exception {
+        run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), TOMCAT_MAX_THREADS);
+        run(Executors.newVirtualThreadPerTaskExecutor(), TOMCAT_MAX_THREADS);
+
+        System.out.printf("upstream delay=%d ms, platform pool=%d threads%n", UPSTREAM_DELAY_MS, TOMCAT_MAX_THREADS);
+        for (int concurrency : CONCURRENCY) {
+            double platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), concurrency);
+            double virtual = run(Executors.newVirtualThreadPerTaskExecutor(), concurrency);
+            System.out.printf("concurrency=%5d platform=%6.0f req/s virtual=%6.0f req/s%n", concurrency, platform, virtual);
+        }
+    }
+
+    @Test
+    void virtualThreadsAreNotPinnedByApplicationCode() throws Exception {
+        Path file = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+                recording.start();
+                run(Executors.newVirtualThreadPerTaskExecutor(), CONCURRENCY[CONCURRENCY.length - 1]);
+                recording.stop();
+                recording.dump(file);
+            }
+
+            int pinned = 0;
+            List<String> applicationFrames = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (!event.getEventType().getName().equals(PINNED_EVENT)) {
+                    continue;
+                }
+                pinned++;
+                if (event.getStackTrace() == null) {
+                    continue;
+                }
+                for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                    String type = frame.getMethod().getType().getName();
+                    if (type.startsWith(APPLICATION_PACKAGE) && !type.startsWith(getClass().getPackageName())) {
+                        applicationFrames.add(type + "." + frame.getMethod().getName());
+                        break;
+                    }
+                }
+            }
+
+            System.out.printf("pinned events=%d, in application code=%d%n", pinned, applicationFrames.size());
+            assertThat(applicationFrames).isEmpty();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private double run(ExecutorService executor, int requests) throws Exception {
+        try {
+            long start = System.nanoTime();
+            List<Future<Boolean>> results = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> found("CID_" + sequence.incrementAndGet())));
+            }
+            int ok = 0;
+            for (Future<Boolean> result : results) {
+                ok += result.get() ? 1 : 0;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (ok < requests) {
+                System.out.printf("%d of %d requests failed%n", requests - ok, requests);
+            }
+            return ok / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean found(String id) {
+        try {
+            return service.findCosmeticById(id).isPresent();
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+}
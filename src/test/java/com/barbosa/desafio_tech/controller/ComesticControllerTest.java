@@ -0,0 +1,102 @@
+package com.barbosa.desafio_tech.controller;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.service.CatalogResponseCacheService;
+import com.barbosa.desafio_tech.domain.service.CatalogSnapshotService;
+import com.barbosa.desafio_tech.domain.service.ComesticService;
+import com.barbosa.desafio_tech.domain.service.ShopStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ComesticControllerTest {
+
+    private ComesticService comesticService;
+    private CatalogSnapshotService catalogSnapshotService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        comesticService = mock(ComesticService.class);
+        catalogSnapshotService = mock(CatalogSnapshotService.class);
+        CatalogResponseCacheService cache = new CatalogResponseCacheService(catalogSnapshotService, new ObjectMapper(),
+                new SimpleMeterRegistry(), true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ComesticController(comesticService, catalogSnapshotService, cache, mock(ShopStreamService.class)))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+
+        when(catalogSnapshotService.latest(CatalogFeed.ALL)).thenReturn(Optional.empty());
+        when(catalogSnapshotService.currentVersion(CatalogFeed.ALL)).thenReturn(OptionalLong.of(1));
+        when(comesticService.listAll(any(), any()))
+                .thenReturn(new PageImpl<>(List.of(ComesticDTO.builder().id("CID_001").name("Renegade Raider").build()),
+                        PageRequest.of(0, 1), 1));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWith304AndNoBody() throws Exception {
+        String etag = etag();
+
+        mockMvc.perform(get("/api/cosmetics").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(comesticService, times(1)).listAll(any(), any());
+    }
+
+    @Test
+    void etagChangesWithTheSnapshotVersion() throws Exception {
+        String first = etag();
+        when(catalogSnapshotService.currentVersion(CatalogFeed.ALL)).thenReturn(OptionalLong.of(2));
+
+        String second = mockMvc.perform(get("/api/cosmetics").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, first))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(second).isNotNull().isNotEqualTo(first).contains("-2-");
+        verify(comesticService, times(2)).listAll(any(), any());
+    }
+
+    @Test
+    void differentQueriesOnTheSameVersionHaveDifferentEtags() throws Exception {
+        String page = etag();
+        String otherPage = mockMvc.perform(get("/api/cosmetics").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(otherPage).isNotEqualTo(page);
+    }
+
+    private String etag() throws Exception {
+        String etag = mockMvc.perform(get("/api/cosmetics").param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"all-1-");
+        return etag;
+    }
+}
@@ -0,0 +1,83 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogIndexTest {
+
+    private static final List<ComesticDTO> ITEMS = List.of(
+            item("1", "Renegade Raider", "Outfit", "Rare", true, false),
+            item("2", "Raider Pickaxe", "Pickaxe", "Rare", false, true),
+            item("3", "Black Knight", "Outfit", "Legendary", false, true),
+            item("4", "Midas", "Outfit", "Legendary", true, true),
+            item("5", "Peely", "Outfit", "Epic", false, true),
+            item("6", "Raider Glider", "Glider", "Epic", null, null),
+            item("7", "Knight's Cape", "Back Bling", "Legendary", false, true),
+            item("8", "Skull Trooper", "Outfit", "Legendary", false, false));
+
+    @Test
+    void eachFacetIgnoresItsOwnFilter() {
+        ComesticFilterDTO filter = new ComesticFilterDTO(null, "Outfit", "Legendary", null, true);
+
+        CatalogIndex.Facets facets = CatalogIndex.build(ITEMS).facets(filter);
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.type()).isEqualTo(Map.of("Outfit", 2, "Back Bling", 1));
+        assertThat(facets.rarity()).isEqualTo(Map.of("Legendary", 2, "Epic", 1));
+        assertThat(facets.isNew()).isEqualTo(Map.of(true, 1, false, 1));
+        assertThat(facets.isOnSale()).isEqualTo(Map.of(true, 2, false, 1));
+    }
+
+    @Test
+    void facetsCombineTheNameFilterWithTheOtherFilters() {
+        ComesticFilterDTO filter = new ComesticFilterDTO("raider", "Outfit", null, null, null);
+
+        CatalogIndex.Facets facets = CatalogIndex.build(ITEMS).facets(filter);
+
+        assertThat(facets.total()).isEqualTo(1);
+        assertThat(facets.type()).isEqualTo(Map.of("Outfit", 1, "Pickaxe", 1, "Glider", 1));
+        assertThat(facets.rarity()).isEqualTo(Map.of("Rare", 1));
+    }
+
+    @Test
+    void facetsAreOrderedByCountDescending() {
+        CatalogIndex.Facets facets = CatalogIndex.build(ITEMS).facets(null);
+
+        assertThat(facets.total()).isEqualTo(ITEMS.size());
+        assertThat(facets.type().keySet()).first().isEqualTo("Outfit");
+        assertThat(new ArrayList<>(facets.type().values())).isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+    }
+
+    @Test
+    void singlePassFacetsMatchTheIndexedFacets() {
+        List<ComesticFilterDTO> filters = List.of(
+                new ComesticFilterDTO(),
+                new ComesticFilterDTO(null, "Outfit", "Legendary", null, true),
+                new ComesticFilterDTO("raider", null, "Rare", null, null),
+                new ComesticFilterDTO("RAIDER", "Glider", null, false, null),
+                new ComesticFilterDTO(null, "Emote", null, null, null));
+        CatalogIndex index = CatalogIndex.build(ITEMS);
+
+        for (ComesticFilterDTO filter : filters) {
+            assertThat(CatalogIndex.facets(ITEMS, filter)).isEqualTo(index.facets(filter));
+        }
+    }
+
+    private static ComesticDTO item(String id, String name, String type, String rarity, Boolean isNew, Boolean isOnSale) {
+        return ComesticDTO.builder()
+                .id(id)
+                .name(name)
+                .type(type)
+                .rarity(rarity)
+                .isNew(isNew)
+                .isOnSale(isOnSale)
+                .build();
+    }
+}
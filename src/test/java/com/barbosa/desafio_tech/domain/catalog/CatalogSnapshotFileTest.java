@@ -0,0 +1,96 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotFileTest {
+
+    private static final List<ComesticDTO> ITEMS = List.of(
+            ComesticDTO.builder().id("CID_001").name("Renegade Raider").type("Outfit").rarity("Rare")
+                    .imageUrl("https://fortnite-api.com/images/cosmetics/br/cid_001/smallicon.png")
+                    .price(1200).isNew(true).isOnSale(false).build(),
+            ComesticDTO.builder().id("CID_002").name("Ação Épica").type("Outfit").rarity("Epic")
+                    .price(null).isNew(false).isOnSale(true).build(),
+            ComesticDTO.builder().id("CID_003").name(null).type(null).rarity(null).build());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenSnapshotReadsBackUnchanged() throws IOException {
+        Path file = directory.resolve("all.bin");
+        Instant loadedAt = Instant.parse("2026-10-18T08:00:00.123Z");
+
+        CatalogSnapshotFile.write(file, new CatalogPayload(ITEMS, "abc", loadedAt));
+        CatalogPayload read = CatalogSnapshotFile.read(file);
+
+        assertThat(read.items()).isEqualTo(ITEMS);
+        assertThat(read.hash()).isEqualTo("abc");
+        assertThat(read.loadedAt()).isEqualTo(loadedAt);
+        assertThat(read.unchanged()).isFalse();
+    }
+
+    @Test
+    void missingHashAndLoadTimeReadBackAsNull() throws IOException {
+        Path file = directory.resolve("shop.bin");
+
+        CatalogSnapshotFile.write(file, new CatalogPayload(List.of(), null));
+        CatalogPayload read = CatalogSnapshotFile.read(file);
+
+        assertThat(read.items()).isEmpty();
+        assertThat(read.hash()).isNull();
+        assertThat(read.loadedAt()).isNull();
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() throws IOException {
+        Path file = directory.resolve("all.bin");
+        CatalogSnapshotFile.write(file, new CatalogPayload(ITEMS, "abc", Instant.now()));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void corruptLengthsAreRejectedBeforeAllocating() throws IOException {
+        Path file = directory.resolve("all.bin");
+        CatalogSnapshotFile.write(file, new CatalogPayload(ITEMS, "abc", Instant.now()));
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] hugeHash = bytes.clone();
+        ByteBuffer.wrap(hugeHash).putInt(8, Integer.MAX_VALUE);
+        Files.write(file, hugeHash);
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(file)).isInstanceOf(IOException.class);
+
+        byte[] hugeDictionary = bytes.clone();
+        ByteBuffer.wrap(hugeDictionary).putInt(8 + Integer.BYTES + 3 + Long.BYTES, Integer.MAX_VALUE);
+        Files.write(file, hugeDictionary);
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void unknownFormatVersionIsRejected() throws IOException {
+        Path file = directory.resolve("all.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x43415431);
+            out.writeInt(1);
+            out.writeInt(-1);
+        }
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogResponseCacheServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private CatalogSnapshotService catalogSnapshotService;
+    private CatalogResponseCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshotService = mock(CatalogSnapshotService.class);
+        cache = new CatalogResponseCacheService(catalogSnapshotService, new ObjectMapper(), meterRegistry, true,
+                DataSize.ofBytes(100), DataSize.ofBytes(100));
+        when(catalogSnapshotService.currentVersion(CatalogFeed.ALL)).thenReturn(OptionalLong.of(1));
+    }
+
+    @Test
+    void responseBuiltWhileTheVersionChangesIsNotCached() {
+        when(catalogSnapshotService.currentVersion(CatalogFeed.ALL))
+                .thenReturn(OptionalLong.of(1), OptionalLong.of(2), OptionalLong.of(1));
+
+        CatalogResponseCacheService.CachedResponse raced = cache.get(CatalogFeed.ALL, "q", loader("a"));
+        cache.get(CatalogFeed.ALL, "q", loader("a"));
+        cache.get(CatalogFeed.ALL, "q", loader("a"));
+
+        assertThat(raced.version()).isEmpty();
+        assertThat(new String(raced.body())).isEqualTo("\"a\"");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedToStayWithinTheByteBound() {
+        cache.get(CatalogFeed.ALL, "q1", loader("x".repeat(30)));
+        cache.get(CatalogFeed.ALL, "q2", loader("x".repeat(30)));
+        cache.get(CatalogFeed.ALL, "q3", loader("x".repeat(30)));
+        cache.get(CatalogFeed.ALL, "q1", loader("x".repeat(30)));
+        cache.get(CatalogFeed.ALL, "q4", loader("x".repeat(30)));
+
+        assertThat(loads).hasValue(4);
+        assertThat(meterRegistry.get("catalog.response.cache.evictions").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog.response.cache.size").gauge().value()).isEqualTo(96);
+
+        cache.get(CatalogFeed.ALL, "q1", loader("x".repeat(30)));
+        assertThat(loads).hasValue(4);
+        cache.get(CatalogFeed.ALL, "q2", loader("x".repeat(30)));
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void entriesLargerThanTheEntryBoundAreNotCached() {
+        cache.get(CatalogFeed.ALL, "big", loader("x".repeat(120)));
+        cache.get(CatalogFeed.ALL, "big", loader("x".repeat(120)));
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("catalog.response.cache.size").gauge().value()).isZero();
+    }
+
+    private Supplier<Object> loader(String body) {
+        return () -> {
+            loads.incrementAndGet();
+            return body;
+        };
+    }
+}
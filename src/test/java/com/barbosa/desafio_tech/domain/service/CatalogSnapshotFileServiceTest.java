@@ -0,0 +1,71 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotFileServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private CatalogSnapshotFileService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CatalogSnapshotFileService(true, directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void refreshedSnapshotIsWrittenInTheBackgroundAndRestored() throws Exception {
+        Instant loadedAt = Instant.parse("2026-10-18T00:01:00Z");
+        List<ComesticDTO> items = List.of(
+                ComesticDTO.builder().id("CID_001").name("Renegade Raider").type("Outfit").price(1200).build(),
+                ComesticDTO.builder().id("CID_002").name("Black Knight").type("Outfit").isOnSale(true).build());
+        CatalogSnapshot snapshot = CatalogSnapshot.of(CatalogFeed.SHOP, 1, new CatalogPayload(items, "h1"), loadedAt);
+
+        service.onCatalogRefreshed(new CatalogRefreshedEvent(null, snapshot));
+        Optional<CatalogPayload> restored = awaitLoad(CatalogFeed.SHOP);
+
+        assertThat(restored).isPresent();
+        assertThat(restored.get().items()).isEqualTo(snapshot.items());
+        assertThat(restored.get().hash()).isEqualTo("h1");
+        assertThat(restored.get().loadedAt()).isEqualTo(loadedAt);
+    }
+
+    @Test
+    void corruptFileFallsThroughToTheNextSource() throws Exception {
+        Files.write(directory.resolve(CatalogFeed.ALL.key() + ".bin"), new byte[]{0x43, 0x41, 0x54, 0x31, 0, 0, 0, 2, 0x7f, 0, 0, 0});
+
+        assertThat(service.load(CatalogFeed.ALL)).isEmpty();
+    }
+
+    private Optional<CatalogPayload> awaitLoad(CatalogFeed feed) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        Optional<CatalogPayload> loaded = service.load(feed);
+        while (loaded.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            loaded = service.load(feed);
+        }
+        return loaded;
+    }
+}
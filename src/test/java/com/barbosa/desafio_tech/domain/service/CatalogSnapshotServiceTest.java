@@ -0,0 +1,128 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotServiceTest {
+
+    private final FortniteApiService fortniteApiService = mock(FortniteApiService.class);
+    private final CatalogSnapshotFileService catalogSnapshotFileService = mock(CatalogSnapshotFileService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private CatalogSnapshotService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void readsDoNotRefreshTheShopWhileTheRotationSchedulerOwnsIt() {
+        service = service(true);
+        restoreStaleShop();
+
+        assertThat(service.current(CatalogFeed.SHOP)).isPresent();
+
+        verify(fortniteApiService, after(300).times(1)).fetchFeed(eq(CatalogFeed.SHOP), any());
+    }
+
+    @Test
+    void readsRefreshAStaleShopWhenTheRotationSchedulerIsDisabled() {
+        service = service(false);
+        restoreStaleShop();
+
+        assertThat(service.current(CatalogFeed.SHOP)).isPresent();
+
+        verify(fortniteApiService, timeout(2_000).times(2)).fetchFeed(eq(CatalogFeed.SHOP), any());
+    }
+
+    @Test
+    void shopEntriesTakeTheirMetadataFromTheCatalog() {
+        service = service(true);
+        when(fortniteApiService.fetchFeed(eq(CatalogFeed.ALL), any())).thenReturn(new CatalogPayload(List.of(
+                catalogItem("CID_001", "Renegade Raider"), catalogItem("CID_002", "Black Knight")), "a1"));
+        when(fortniteApiService.fetchFeed(eq(CatalogFeed.SHOP), any())).thenReturn(new CatalogPayload(List.of(
+                shopItem("CID_001", 1200), shopItem("CID_999", 800)), "s1"));
+
+        service.refresh(CatalogFeed.ALL).join();
+        CatalogSnapshot shop = service.refresh(CatalogFeed.SHOP).join();
+
+        assertThat(shop.items()).extracting(ComesticDTO::getName, ComesticDTO::getRarity, ComesticDTO::getPrice)
+                .containsExactly(tuple("Renegade Raider", "Legendary", 1200), tuple(null, null, 800));
+    }
+
+    @Test
+    void shopLoadedBeforeTheCatalogIsRejoinedWhenTheCatalogArrives() {
+        service = service(true);
+        when(fortniteApiService.fetchFeed(eq(CatalogFeed.SHOP), any()))
+                .thenReturn(new CatalogPayload(List.of(shopItem("CID_001", 1200)), "s1"));
+        when(fortniteApiService.fetchFeed(eq(CatalogFeed.ALL), any()))
+                .thenReturn(new CatalogPayload(List.of(catalogItem("CID_001", "Renegade Raider")), "a1"));
+
+        CatalogSnapshot unjoined = service.refresh(CatalogFeed.SHOP).join();
+        service.refresh(CatalogFeed.ALL).join();
+        CatalogSnapshot rejoined = service.latest(CatalogFeed.SHOP).orElseThrow();
+
+        assertThat(unjoined.items().get(0).getName()).isNull();
+        assertThat(rejoined.version()).isGreaterThan(unjoined.version());
+        assertThat(rejoined.hash()).isEqualTo("s1");
+        assertThat(rejoined.loadedAt()).isEqualTo(unjoined.loadedAt());
+        assertThat(rejoined.items()).extracting(ComesticDTO::getName, ComesticDTO::getPrice)
+                .containsExactly(tuple("Renegade Raider", 1200));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CatalogRefreshedEvent refreshed
+                && refreshed.previous() == unjoined && refreshed.current() == rejoined));
+    }
+
+    private void restoreStaleShop() {
+        Instant loadedAt = Instant.now().minus(Duration.ofMinutes(20));
+        when(fortniteApiService.fetchFeed(eq(CatalogFeed.SHOP), any())).thenThrow(new IllegalStateException("offline"));
+        when(catalogSnapshotFileService.load(CatalogFeed.SHOP))
+                .thenReturn(Optional.of(new CatalogPayload(List.of(item("CID_001")), "h1", loadedAt)));
+
+        assertThat(service.refresh(CatalogFeed.SHOP).join().loadedAt()).isEqualTo(loadedAt);
+    }
+
+    private CatalogSnapshotService service(boolean shopRotation) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("catalog.shop-rotation.enabled", String.valueOf(shopRotation));
+        return new CatalogSnapshotService(fortniteApiService, mock(CatalogSyncService.class), catalogSnapshotFileService,
+                eventPublisher, environment, Duration.ofMinutes(10), Duration.ofHours(1),
+                Duration.ofSeconds(5), 2);
+    }
+
+    private static ComesticDTO item(String id) {
+        return ComesticDTO.builder().id(id).build();
+    }
+
+    private static ComesticDTO catalogItem(String id, String name) {
+        return ComesticDTO.builder().id(id).name(name).type("Outfit").rarity("Legendary")
+                .imageUrl("https://fortnite-api.com/images/cosmetics/br/" + id + "/icon.png").build();
+    }
+
+    private static ComesticDTO shopItem(String id, int price) {
+        return ComesticDTO.builder().id(id).price(price).build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.controller.controllerException.ControllerExceptionHandler;
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticCursorPageDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import com.barbosa.desafio_tech.domain.service.serviceException.CursorExpiredException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCursorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ComesticServiceTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 2);
+
+    private final ControllerExceptionHandler handler = new ControllerExceptionHandler();
+    private FortniteApiService fortniteApiService;
+    private CatalogSnapshotService catalogSnapshotService;
+    private ComesticService service;
+    private CatalogSnapshot all;
+
+    @BeforeEach
+    void setUp() {
+        fortniteApiService = mock(FortniteApiService.class);
+        catalogSnapshotService = mock(CatalogSnapshotService.class);
+        service = new ComesticService(fortniteApiService, catalogSnapshotService,
+                mock(CosmeticLookupService.class), new ObjectMapper());
+
+        all = snapshot(CatalogFeed.ALL, 1,
+                item("1", "Renegade Raider", "Outfit"),
+                item("2", "Black Knight", "Outfit"),
+                item("3", "Raider Pickaxe", "Pickaxe"),
+                item("4", "Midas", "Outfit"),
+                item("5", "Peely", "Outfit"),
+                item("6", "Aerial Assault Trooper", "Outfit"));
+        when(catalogSnapshotService.current(CatalogFeed.ALL)).thenReturn(Optional.of(all));
+        when(catalogSnapshotService.version(CatalogFeed.ALL, 1)).thenReturn(Optional.of(all));
+    }
+
+    @Test
+    void cursorWalksTheSnapshotWithoutGapsOrDuplicates() {
+        List<String> names = new ArrayList<>();
+        ComesticCursorPageDTO page = service.scroll(CatalogFeed.ALL, null, PAGE, null);
+        names.addAll(names(page));
+        while (page.getNextCursor() != null) {
+            assertThat(page.getCatalogVersion()).isEqualTo(1L);
+            page = service.scroll(CatalogFeed.ALL, page.getNextCursor(), PAGE, null);
+            names.addAll(names(page));
+        }
+
+        assertThat(names).containsExactly("Aerial Assault Trooper", "Black Knight", "Midas", "Peely",
+                "Raider Pickaxe", "Renegade Raider");
+    }
+
+    @Test
+    void cursorKeepsTheSortAndFilterOfTheFirstPage() {
+        ComesticFilterDTO outfits = new ComesticFilterDTO(null, "Outfit", null, null, null);
+        PageRequest byNameDescending = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name"));
+
+        ComesticCursorPageDTO first = service.scroll(CatalogFeed.ALL, null, byNameDescending, outfits);
+        ComesticCursorPageDTO second = service.scroll(CatalogFeed.ALL, first.getNextCursor(), PAGE, null);
+        ComesticCursorPageDTO last = service.scroll(CatalogFeed.ALL, second.getNextCursor(), PAGE, null);
+
+        assertThat(names(first)).containsExactly("Renegade Raider", "Peely");
+        assertThat(names(second)).containsExactly("Midas", "Black Knight");
+        assertThat(names(last)).containsExactly("Aerial Assault Trooper");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorForAVersionNoLongerRetainedHasExpired() {
+        String cursor = service.scroll(CatalogFeed.ALL, null, PAGE, null).getNextCursor();
+        when(catalogSnapshotService.version(CatalogFeed.ALL, 1)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.scroll(CatalogFeed.ALL, cursor, PAGE, null))
+                .isInstanceOfSatisfying(CursorExpiredException.class, ex ->
+                        assertThat(handler.cursorExpired(ex, mock(HttpServletRequest.class)).getStatusCode())
+                                .isEqualTo(HttpStatus.GONE));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        String cursor = service.scroll(CatalogFeed.ALL, null, PAGE, null).getNextCursor();
+        String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+        assertInvalid(CatalogFeed.ALL, "not a cursor");
+        assertInvalid(CatalogFeed.ALL, cursor.substring(0, cursor.length() / 2));
+        assertInvalid(CatalogFeed.ALL, encode("{}"));
+        assertInvalid(CatalogFeed.ALL, encode(json.replace("\"NAME\"", "\"POPULARITY\"")));
+    }
+
+    @Test
+    void cursorFromAnotherFeedIsRejected() {
+        CatalogSnapshot shop = snapshot(CatalogFeed.SHOP, 7, item("1", "Renegade Raider", "Outfit"),
+                item("2", "Black Knight", "Outfit"), item("3", "Midas", "Outfit"));
+        when(catalogSnapshotService.current(CatalogFeed.SHOP)).thenReturn(Optional.of(shop));
+        String shopCursor = service.scroll(CatalogFeed.SHOP, null, PAGE, null).getNextCursor();
+
+        assertThat(shopCursor).isNotNull();
+        assertInvalid(CatalogFeed.ALL, shopCursor);
+    }
+
+    @Test
+    void upstreamOutageWithoutSnapshotIsReportedAsUnavailable() {
+        when(catalogSnapshotService.currentAsync(CatalogFeed.ALL)).thenReturn(Mono.empty());
+        when(catalogSnapshotService.currentAsync(CatalogFeed.SHOP)).thenReturn(Mono.empty());
+        when(fortniteApiService.getItemsAsync(CatalogFeed.ALL))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(fortniteApiService.getItemsAsync(CatalogFeed.SHOP))
+                .thenReturn(Mono.error(new CatalogUnavailableException("API do Fortnite indisponível no momento")));
+
+        assertUnavailable(() -> service.listAll(PAGE, null));
+        assertUnavailable(() -> service.facets(null));
+        assertUnavailable(() -> service.listShop(PAGE, null));
+    }
+
+    private void assertUnavailable(ThrowableAssert.ThrowingCallable call) {
+        assertThatThrownBy(call)
+                .isInstanceOfSatisfying(CatalogUnavailableException.class, ex ->
+                        assertThat(handler.catalogUnavailable(ex, mock(HttpServletRequest.class)).getStatusCode())
+                                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private void assertInvalid(CatalogFeed feed, String cursor) {
+        assertThatThrownBy(() -> service.scroll(feed, cursor, PAGE, null))
+                .isInstanceOfSatisfying(InvalidCursorException.class, ex ->
+                        assertThat(handler.invalidCursor(ex, mock(HttpServletRequest.class)).getStatusCode())
+                                .isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> names(ComesticCursorPageDTO page) {
+        return page.getContent().stream().map(ComesticDTO::getName).toList();
+    }
+
+    private static CatalogSnapshot snapshot(CatalogFeed feed, long version, ComesticDTO... items) {
+        return CatalogSnapshot.of(feed, version, new CatalogPayload(List.of(items), "h" + version), Instant.now());
+    }
+
+    private static ComesticDTO item(String id, String name, String type) {
+        return ComesticDTO.builder().id(id).name(name).type(type).build();
+    }
+}
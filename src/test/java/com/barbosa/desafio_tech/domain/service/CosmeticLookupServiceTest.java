@@ -0,0 +1,88 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CosmeticLookupServiceTest {
+
+    private FortniteApiService fortniteApiService;
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        fortniteApiService = mock(FortniteApiService.class);
+        catalogSnapshotService = mock(CatalogSnapshotService.class);
+        when(catalogSnapshotService.latest(CatalogFeed.ALL)).thenReturn(Optional.empty());
+        when(fortniteApiService.findCosmeticByIdAsync("CID_404")).thenReturn(Mono.empty());
+        when(fortniteApiService.findCosmeticByIdAsync("CID_001"))
+                .thenReturn(Mono.just(ComesticDTO.builder().id("CID_001").name("Renegade Raider").build()));
+    }
+
+    @Test
+    void missingCosmeticIsCachedForTheNegativeTtl() {
+        CosmeticLookupService service = service(Duration.ofMinutes(30), Duration.ofMinutes(1));
+
+        assertThat(service.findAsync("CID_404").blockOptional()).isEmpty();
+        assertThat(service.findAsync("CID_404").blockOptional()).isEmpty();
+        assertThat(service.findAll(List.of("CID_404"))).isEmpty();
+
+        verify(fortniteApiService, times(1)).findCosmeticByIdAsync("CID_404");
+    }
+
+    @Test
+    void expiredNegativeEntryIsLookedUpAgain() {
+        CosmeticLookupService service = service(Duration.ofMinutes(30), Duration.ZERO);
+
+        service.findAsync("CID_404").blockOptional();
+        service.findAsync("CID_404").blockOptional();
+
+        verify(fortniteApiService, times(2)).findCosmeticByIdAsync("CID_404");
+    }
+
+    @Test
+    void foundCosmeticOutlivesTheNegativeTtl() {
+        CosmeticLookupService service = service(Duration.ofMinutes(30), Duration.ZERO);
+
+        assertThat(service.findAsync("CID_001").block().getName()).isEqualTo("Renegade Raider");
+        assertThat(service.findAsync("CID_001").block().getName()).isEqualTo("Renegade Raider");
+
+        verify(fortniteApiService, times(1)).findCosmeticByIdAsync("CID_001");
+    }
+
+    @Test
+    void catalogRefreshDropsNegativeEntriesOnly() {
+        CosmeticLookupService service = service(Duration.ofMinutes(30), Duration.ofMinutes(1));
+        service.findAsync("CID_404").blockOptional();
+        service.findAsync("CID_001").block();
+
+        service.onCatalogRefreshed(new CatalogRefreshedEvent(null,
+                CatalogSnapshot.of(CatalogFeed.ALL, 2, new CatalogPayload(List.of(), "h2"), Instant.now())));
+        service.findAsync("CID_404").blockOptional();
+        service.findAsync("CID_001").block();
+
+        verify(fortniteApiService, times(2)).findCosmeticByIdAsync("CID_404");
+        verify(fortniteApiService, times(1)).findCosmeticByIdAsync("CID_001");
+    }
+
+    private CosmeticLookupService service(Duration ttl, Duration negativeTtl) {
+        return new CosmeticLookupService(fortniteApiService, catalogSnapshotService, ttl, negativeTtl, 100,
+                Duration.ofSeconds(3), 4);
+    }
+}
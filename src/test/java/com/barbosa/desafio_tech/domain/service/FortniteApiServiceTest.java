@@ -0,0 +1,194 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamReader;
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FortniteApiServiceTest {
+
+    private static final int CALLERS = 300;
+    private static final long UPSTREAM_DELAY_MS = 500;
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final String ETAG = "\"abc\"";
+
+    private static final String COSMETICS = """
+            {"status":200,"data":{"hash":"abc","br":[
+              {"id":"CID_001","name":"Renegade Raider","type":{"displayValue":"Outfit"},"rarity":{"displayValue":"Rare"}},
+              {"id":"CID_002","name":"Aerial Assault Trooper","type":{"displayValue":"Outfit"},"rarity":{"displayValue":"Rare"}}
+            ]}}
+            """;
+    private static final String COSMETIC = """
+            {"status":200,"data":{"id":"CID_001","name":"Renegade Raider","type":{"value":"outfit"},"rarity":{"value":"rare"}}}
+            """;
+
+    private final AtomicInteger cosmeticsHits = new AtomicInteger();
+    private final AtomicInteger cosmeticHits = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private HttpServer server;
+    private ExecutorService callers;
+    private FortniteApiService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/cosmetics/br/", exchange -> respond(exchange, cosmeticHits, COSMETIC));
+        server.createContext("/cosmetics", exchange -> respond(exchange, cosmeticsHits, COSMETICS));
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+
+        callers = Executors.newFixedThreadPool(CALLERS);
+        ObjectMapper objectMapper = new ObjectMapper();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .build();
+        service = new FortniteApiService(webClient, new FortniteCosmeticsStreamReader(objectMapper),
+                new FortniteCircuitBreaker(FAILURE_THRESHOLD, Duration.ofMinutes(1), 1),
+                objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentCatalogCallsShareOneUpstreamRequest() throws Exception {
+        List<CatalogPayload> results = callConcurrently(() -> service.fetchFeed(CatalogFeed.ALL, null));
+
+        assertThat(cosmeticsHits).hasValue(1);
+        assertThat(results).allSatisfy(payload -> assertThat(payload.items()).hasSize(2));
+    }
+
+    @Test
+    void concurrentLookupsOfSameIdShareOneUpstreamRequest() throws Exception {
+        List<ComesticDTO> results = callConcurrently(() -> service.findCosmeticById("CID_001").orElseThrow());
+
+        assertThat(cosmeticHits).hasValue(1);
+        assertThat(results).allSatisfy(item -> assertThat(item.getName()).isEqualTo("Renegade Raider"));
+    }
+
+    @Test
+    void sequentialCallsAreNotCoalesced() {
+        service.fetchFeed(CatalogFeed.ALL, null);
+        service.fetchFeed(CatalogFeed.ALL, null);
+
+        assertThat(cosmeticsHits).hasValue(2);
+    }
+
+    @Test
+    void unchangedCatalogIsRevalidatedWithoutDownloadingTheBody() {
+        CatalogPayload loaded = service.fetchFeed(CatalogFeed.ALL, null);
+        CatalogPayload revalidated = service.fetchFeed(CatalogFeed.ALL, loaded.hash());
+
+        assertThat(loaded.items()).hasSize(2);
+        assertThat(revalidated.unchanged()).isTrue();
+        assertThat(revalidated.hash()).isEqualTo(loaded.hash());
+        assertThat(cosmeticsHits).hasValue(2);
+        assertThat(notModified).hasValue(1);
+    }
+
+    @Test
+    void callerWithoutAPreviousVersionGetsTheFullBody() {
+        service.fetchFeed(CatalogFeed.ALL, null);
+
+        assertThat(service.fetchFeed(CatalogFeed.ALL, null).items()).hasSize(2);
+        assertThat(notModified).hasValue(0);
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingUpstream() {
+        failing.set(true);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> service.fetchFeed(CatalogFeed.ALL, null))
+                    .isNotInstanceOf(CatalogUnavailableException.class);
+        }
+        int hitsWhenOpened = cosmeticsHits.get();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.fetchFeed(CatalogFeed.ALL, null))
+                .isInstanceOf(CatalogUnavailableException.class);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(cosmeticsHits).hasValue(hitsWhenOpened);
+        assertThat(elapsedMs).isLessThan(UPSTREAM_DELAY_MS);
+    }
+
+    private <T> List<T> callConcurrently(Supplier<T> call) throws Exception {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(callers.submit(() -> {
+                ready.countDown();
+                start.await();
+                return call.get();
+            }));
+        }
+        assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+        start.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private void respond(HttpExchange exchange, AtomicInteger hits, String body) throws IOException {
+        hits.incrementAndGet();
+        if (failing.get()) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        try {
+            Thread.sleep(UPSTREAM_DELAY_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
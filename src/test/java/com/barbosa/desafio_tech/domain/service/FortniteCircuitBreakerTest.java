@@ -0,0 +1,92 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.service.serviceException.CatalogUnavailableException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FortniteCircuitBreakerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void opensAfterTheFailureThresholdAndRejectsWithoutCalling() {
+        FortniteCircuitBreaker breaker = new FortniteCircuitBreaker(2, Duration.ofHours(1), 1);
+
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.CLOSED);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> breaker.protect(call(Mono.just("ok"))).block())
+                .isInstanceOf(CatalogUnavailableException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void halfOpenAdmitsOneProbeAndClosesWhenItSucceeds() {
+        FortniteCircuitBreaker breaker = open();
+        Sinks.One<String> probe = Sinks.one();
+
+        breaker.protect(call(probe.asMono())).subscribe();
+
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(() -> breaker.protect(call(Mono.just("ok"))).block())
+                .isInstanceOf(CatalogUnavailableException.class);
+
+        probe.tryEmitValue("ok");
+
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.CLOSED);
+        assertThat(breaker.protect(call(Mono.just("ok"))).block()).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void failedProbeReopensImmediately() {
+        FortniteCircuitBreaker breaker = open();
+        Sinks.One<String> probe = Sinks.one();
+        breaker.protect(call(probe.asMono())).subscribe(value -> { }, ex -> { });
+
+        probe.tryEmitError(new IllegalStateException("timeout"));
+
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void cancelledProbeReleasesItsSlot() {
+        FortniteCircuitBreaker breaker = open();
+        Disposable probe = breaker.protect(call(Mono.never())).subscribe();
+
+        probe.dispose();
+
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.protect(call(Mono.just("ok"))).block()).isEqualTo("ok");
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.CLOSED);
+    }
+
+    private FortniteCircuitBreaker open() {
+        FortniteCircuitBreaker breaker = new FortniteCircuitBreaker(1, Duration.ZERO, 1);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(FortniteCircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private void fail(FortniteCircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.protect(call(Mono.error(new IllegalStateException("502")))).block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private <T> Mono<T> call(Mono<T> result) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+}
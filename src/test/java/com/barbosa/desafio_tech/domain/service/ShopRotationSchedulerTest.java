@@ -0,0 +1,139 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ShopRotationSchedulerTest {
+
+    private static final Duration LEAD = Duration.ofMinutes(1);
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+    private static final Duration FAST = Duration.ofSeconds(10);
+    private static final Duration IDLE = Duration.ofMinutes(10);
+
+    @Test
+    void idlePollsUseTheRefreshInterval() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T08:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-18T12:00:00Z"))).isEqualTo(at("2026-10-18T12:10:00Z"));
+    }
+
+    @Test
+    void idlePollIsPulledInToTheStartOfTheLead() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T08:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-18T23:55:00Z"))).isEqualTo(at("2026-10-18T23:59:00Z"));
+    }
+
+    @Test
+    void pollsFastFromTheLeadUntilTheBoundary() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T08:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-18T23:59:00Z"))).isEqualTo(at("2026-10-18T23:59:10Z"));
+        assertThat(scheduler.nextPoll(at("2026-10-18T23:59:55Z"))).isEqualTo(at("2026-10-19T00:00:05Z"));
+    }
+
+    @Test
+    void pollsFastAfterTheBoundaryUntilTheNewShopArrives() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T08:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:05:00Z"))).isEqualTo(at("2026-10-19T00:05:10Z"));
+
+        rotated(scheduler, "2026-10-19T00:05:10Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:05:10Z"))).isEqualTo(at("2026-10-19T00:15:10Z"));
+    }
+
+    @Test
+    void fallsBackToIdlePollsWhenTheWindowExpires() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T08:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:14:59Z"))).isEqualTo(at("2026-10-19T00:15:09Z"));
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:15:00Z"))).isEqualTo(at("2026-10-19T00:25:00Z"));
+    }
+
+    @Test
+    void wrapsAcrossDaysAndYears() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-12-31T08:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-12-31T23:59:30Z"))).isEqualTo(at("2026-12-31T23:59:40Z"));
+        assertThat(scheduler.nextPoll(at("2027-01-01T00:01:00Z"))).isEqualTo(at("2027-01-01T00:01:10Z"));
+    }
+
+    @Test
+    void honorsRotationTimesOtherThanMidnight() {
+        ShopRotationScheduler scheduler = scheduler("02:00");
+        loaded(scheduler, "2026-10-18T03:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:30:00Z"))).isEqualTo(at("2026-10-19T00:40:00Z"));
+        assertThat(scheduler.nextPoll(at("2026-10-19T01:55:00Z"))).isEqualTo(at("2026-10-19T01:59:00Z"));
+        assertThat(scheduler.nextPoll(at("2026-10-19T02:03:00Z"))).isEqualTo(at("2026-10-19T02:03:10Z"));
+    }
+
+    @Test
+    void restartInsideTheWindowWithTheNewShopAlreadyLoadedPollsIdle() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-19T00:02:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:05:00Z"))).isEqualTo(at("2026-10-19T00:15:00Z"));
+    }
+
+    @Test
+    void restartInsideTheWindowWithYesterdaysShopPollsFast() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T20:00:00Z");
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:05:00Z"))).isEqualTo(at("2026-10-19T00:05:10Z"));
+    }
+
+    @Test
+    void revalidatedShopWithTheSameHashDoesNotEndFastPolling() {
+        ShopRotationScheduler scheduler = scheduler("00:00");
+        loaded(scheduler, "2026-10-18T08:00:00Z");
+        scheduler.onCatalogRefreshed(new CatalogRefreshedEvent(
+                shop("h1", "2026-10-18T08:00:00Z"), shop("h1", "2026-10-19T00:03:00Z")));
+
+        assertThat(scheduler.nextPoll(at("2026-10-19T00:05:00Z"))).isEqualTo(at("2026-10-19T00:05:10Z"));
+    }
+
+    private static ShopRotationScheduler scheduler(String rotationTime) {
+        return new ShopRotationScheduler(mock(CatalogSnapshotService.class), mock(TaskScheduler.class),
+                new SimpleMeterRegistry(), Clock.fixed(at("2026-10-18T00:00:00Z"), ZoneOffset.UTC),
+                true, rotationTime, LEAD, WINDOW, FAST, IDLE);
+    }
+
+    private static void loaded(ShopRotationScheduler scheduler, String loadedAt) {
+        scheduler.onCatalogRefreshed(new CatalogRefreshedEvent(null, shop("h1", loadedAt)));
+    }
+
+    private static void rotated(ShopRotationScheduler scheduler, String loadedAt) {
+        scheduler.onCatalogRefreshed(new CatalogRefreshedEvent(shop("h1", "2026-10-18T08:00:00Z"), shop("h2", loadedAt)));
+    }
+
+    private static CatalogSnapshot shop(String hash, String loadedAt) {
+        return CatalogSnapshot.of(CatalogFeed.SHOP, 1, new CatalogPayload(List.of(), hash), at(loadedAt));
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
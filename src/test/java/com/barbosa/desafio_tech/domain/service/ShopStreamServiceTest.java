@@ -0,0 +1,175 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogFeed;
+import com.barbosa.desafio_tech.domain.catalog.CatalogPayload;
+import com.barbosa.desafio_tech.domain.catalog.CatalogRefreshedEvent;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShopStreamServiceTest {
+
+    private static final int MAX_PENDING_EVENTS = 4;
+    private static final Duration SEND_TIMEOUT = Duration.ofMillis(200);
+    private static final int SEND_THREADS = 16;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private ShopStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void rotationSendsAddedRemovedAndRepricedItems() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter();
+        service.subscribe(subscriber);
+
+        service.onCatalogRefreshed(new CatalogRefreshedEvent(
+                shop(1, "h1", item("A", 100), item("B", 200)),
+                shop(2, "h2", item("B", 300), item("C", 100))));
+
+        String event = subscriber.next();
+        assertThat(event).contains("shop-diff", "h2");
+        assertThat(event).contains("\"added\":[{\"id\":\"C\"");
+        assertThat(event).contains("\"removed\":[\"A\"]");
+        assertThat(event).contains("\"repriced\":[{\"id\":\"B\",\"previousPrice\":200,\"price\":300}]");
+    }
+
+    @Test
+    void unchangedShopSendsNothing() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter();
+        service.subscribe(subscriber);
+
+        service.onCatalogRefreshed(new CatalogRefreshedEvent(
+                shop(1, "h1", item("A", 100)),
+                shop(2, "h2", item("A", 100))));
+        service.heartbeat();
+
+        assertThat(subscriber.next()).contains("heartbeat").doesNotContain("shop-diff");
+    }
+
+    @Test
+    void sendsRunOnPlatformThreadsWhenVirtualThreadsAreDisabled() throws Exception {
+        service.shutdown();
+        service = service(false);
+        RecordingEmitter subscriber = new RecordingEmitter();
+        service.subscribe(subscriber);
+
+        service.heartbeat();
+
+        assertThat(subscriber.next()).contains("heartbeat");
+        assertThat(subscriber.sender.isVirtual()).isFalse();
+        assertThat(subscriber.sender.getName()).startsWith("shop-stream-");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void stalledSubscribersAreDroppedWithoutStarvingHealthyOnes(boolean virtualThreads) throws Exception {
+        service.shutdown();
+        service = service(virtualThreads);
+        List<StalledEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            StalledEmitter emitter = new StalledEmitter();
+            stalled.add(emitter);
+            service.subscribe(emitter);
+        }
+        RecordingEmitter healthy = new RecordingEmitter();
+        service.subscribe(healthy);
+
+        for (int i = 0; i < MAX_PENDING_EVENTS; i++) {
+            service.heartbeat();
+            assertThat(healthy.next()).contains("heartbeat");
+        }
+        for (StalledEmitter emitter : stalled) {
+            assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        Thread.sleep(SEND_TIMEOUT.toMillis() * 2);
+        service.heartbeat();
+
+        assertThat(healthy.next()).contains("heartbeat");
+        assertThat(meterRegistry.counter("catalog.shop.stream.dropped").count()).isEqualTo(stalled.size());
+        assertThat(meterRegistry.get("catalog.shop.stream.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    private ShopStreamService service(boolean virtualThreads) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new ShopStreamService(new ObjectMapper(), meterRegistry, Duration.ofMinutes(30), 100,
+                MAX_PENDING_EVENTS, SEND_TIMEOUT, virtualThreads, SEND_THREADS);
+    }
+
+    private static CatalogSnapshot shop(long version, String hash, ComesticDTO... items) {
+        return CatalogSnapshot.of(CatalogFeed.SHOP, version, new CatalogPayload(List.of(items), hash), Instant.now());
+    }
+
+    private static ComesticDTO item(String id, int price) {
+        return ComesticDTO.builder().id(id).name("Item " + id).price(price).build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private volatile Thread sender;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sender = Thread.currentThread();
+            StringBuilder event = new StringBuilder();
+            for (DataWithMediaType item : items) {
+                event.append(item.getData());
+            }
+            events.add(event.toString());
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).isNotNull();
+            return event;
+        }
+    }
+
+    private class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+    }
+}